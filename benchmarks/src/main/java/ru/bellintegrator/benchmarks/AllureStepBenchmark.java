@@ -0,0 +1,71 @@
+package ru.bellintegrator.benchmarks;
+
+import helpers.CustomAllure;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static ru.bellintegrator.benchmarks.InMemoryAllure.inTestCase;
+
+/**
+ * Накладные расходы степов Allure: {@link CustomAllure#stepWithChangeableStatus} в сравнении с
+ * {@link Allure#step(String, Allure.ThrowableRunnableVoid)}.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AllureStepBenchmark {
+    private static final int STEPS_PER_TEST = 1_000;
+
+    private AllureLifecycle lifecycle;
+
+    @Setup
+    public void setUp() {
+        lifecycle = InMemoryAllure.install();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Benchmark
+    @OperationsPerInvocation(STEPS_PER_TEST)
+    public void stepWithChangeableStatus() {
+        inTestCase(lifecycle, () -> {
+            for (int i = 0; i < STEPS_PER_TEST; i++) {
+                CustomAllure.stepWithChangeableStatus("step", () -> {
+                });
+            }
+        });
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Benchmark
+    @OperationsPerInvocation(STEPS_PER_TEST)
+    public void allureStep() {
+        inTestCase(lifecycle, () -> {
+            for (int i = 0; i < STEPS_PER_TEST; i++) {
+                Allure.step("step", () -> {
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package ru.bellintegrator.benchmarks;
+
+import helpers.pageable.PredicateCheckThatEachElement;
+import io.qameta.allure.AllureLifecycle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import pages.ru.yandex.market.CategoryGoods;
+import pages.ru.yandex.market.ProductSnapshot;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static ru.bellintegrator.benchmarks.InMemoryAllure.inTestCase;
+
+/**
+ * Сквозной бенчмарк {@link CategoryGoods} против сохраненных страниц Маркета, которые отдает
+ * {@link LocalFixtureServer}. Требует установленного Chrome, но не требует сети, поэтому
+ * регрессии в количестве обращений к веб-драйверу ловятся офлайн. Каждый бенчмарк выполняется для обоих
+ * способов ожидания загрузки товаров ({@link CategoryGoods.LoadDetection}).
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CategoryGoodsBenchmark {
+    private static final int PAGE_COUNT = 5;
+    private static final int IMPLICITLY_WAIT = 15;
+
+    @Param({"SPINNER", "MUTATION_OBSERVER"})
+    private CategoryGoods.LoadDetection loadDetection;
+
+    private LocalFixtureServer server;
+    private WebDriver driver;
+    private CategoryGoods categoryGoods;
+    private AllureLifecycle lifecycle;
+
+    @Setup
+    public void setUp() {
+        server = new LocalFixtureServer(PAGE_COUNT, 48);
+        driver = new ChromeDriver(new ChromeOptions().addArguments("--headless=new"));
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(IMPLICITLY_WAIT));
+        driver.get(server.catalogUrl(1));
+        categoryGoods = new CategoryGoods(driver, IMPLICITLY_WAIT);
+        categoryGoods.setLoadDetection(loadDetection);
+        lifecycle = InMemoryAllure.install();
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.quit();
+        server.stop();
+    }
+
+    /**
+     * Открытие страницы и извлечение снимка товаров. Переход выполняется {@link CategoryGoods#toPage(int)},
+     * который сбрасывает закешированный снимок, поэтому каждый вызов заново извлекает товары.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Benchmark
+    public ProductSnapshot openPageAndExtractProducts() {
+        categoryGoods.toPage(1);
+        return categoryGoods.getProductSnapshot();
+    }
+
+    /**
+     * Постраничная проверка всех страниц выдачи двумя чеками с переходом по кнопке "вперёд".
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Benchmark
+    public void pageableCheck() {
+        driver.get(server.catalogUrl(1));
+        categoryGoods = new CategoryGoods(driver, IMPLICITLY_WAIT);
+        categoryGoods.setLoadDetection(loadDetection);
+        inTestCase(lifecycle, () -> categoryGoods.schedulePageableCheck()
+                .addCheck(new PredicateCheckThatEachElement<>("содержит Lenovo или HUAWEI",
+                        CategoryGoods::getProductNames, name -> name.contains("Lenovo") || name.contains("HUAWEI")))
+                .addCheck(new PredicateCheckThatEachElement<>("не превышает 900000",
+                        CategoryGoods::getProductPrices, price -> price <= 900_000))
+                .beLazy(false)
+                .runWithoutThrowing());
+    }
+}
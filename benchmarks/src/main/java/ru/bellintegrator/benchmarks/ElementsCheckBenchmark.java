@@ -0,0 +1,130 @@
+package ru.bellintegrator.benchmarks;
+
+import helpers.StringsUtils;
+import helpers.pageable.AssertionCheckThatEachElement;
+import helpers.pageable.DoublePredicateCheckThatEachElement;
+import helpers.pageable.ElementsCheckResult;
+import helpers.pageable.ElementsChecks;
+import helpers.pageable.PredicateCheckThatEachElement;
+import org.junit.jupiter.api.Assertions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.bellintegrator.benchmarks.InMemoryPage.MAX_PRICE;
+
+/**
+ * Стоимость одного выполнения чеков над большими коллекциями элементов в памяти,
+ * на "чистых" страницах и на страницах с большим количеством ошибок.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ElementsCheckBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int elementCount;
+    @Param({"0", "0.5"})
+    private double failureRatio;
+
+    /**
+     * Производители, одного из которых должно содержать наименование товара.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final List<String> MANUFACTURERS = List.of("Lenovo", "Huawei", "Apple", "ASUS", "HP", "Dell",
+            "MSI", "Xiaomi", "Honor", "Samsung", "Gigabyte", "Microsoft", "Razer", "Чувашторгтехника", "Иру");
+
+    private InMemoryPage page;
+
+    @Setup
+    public void setUp() {
+        page = new InMemoryPage(elementCount, failureRatio, 1);
+    }
+
+    /**
+     * Чек создается заново в каждом вызове, поскольку чеки накапливают ошибки всех выполнений.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Benchmark
+    public ElementsCheckResult predicateCheck() {
+        return new PredicateCheckThatEachElement<InMemoryPage, Double>("не превышает " + MAX_PRICE,
+                InMemoryPage::getPrices, price -> price <= MAX_PRICE)
+                .perform(page);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Benchmark
+    public ElementsCheckResult doublePredicateCheck() {
+        return new DoublePredicateCheckThatEachElement<InMemoryPage>("не превышает " + MAX_PRICE,
+                InMemoryPage::getPriceArray, price -> price <= MAX_PRICE)
+                .perform(page);
+    }
+
+    /**
+     * Наименования проверяются {@link StringsUtils#stringContainsAnyStringCaseInsensitively(String, List)}.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Benchmark
+    public ElementsCheckResult containsAnyNaiveCheck() {
+        return new PredicateCheckThatEachElement<InMemoryPage, String>("содержит одного из производителей",
+                InMemoryPage::getNames, name -> StringsUtils.stringContainsAnyStringCaseInsensitively(name, MANUFACTURERS))
+                .perform(page);
+    }
+
+    /**
+     * Наименования проверяются автоматом {@link helpers.SubstringMatcher}.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Benchmark
+    public ElementsCheckResult containsAnyMatcherCheck() {
+        return ElementsChecks.<InMemoryPage>containsAnyIgnoringCase("содержит одного из производителей",
+                InMemoryPage::getNames, MANUFACTURERS)
+                .perform(page);
+    }
+
+    /**
+     * Устаревший конструктор с утверждением, оставленный для сравнения с {@link #conditionAssertionCheck()}.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public ElementsCheckResult assertionCheck() {
+        return new AssertionCheckThatEachElement<InMemoryPage, Double>("не превышает " + MAX_PRICE,
+                InMemoryPage::getPrices, (price, message) -> Assertions.assertTrue(price <= MAX_PRICE, message))
+                .perform(page);
+    }
+
+    /**
+     * То же утверждение, выраженное условием и фабрикой сообщения: без {@code AssertionError} на проваленный элемент.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Benchmark
+    public ElementsCheckResult conditionAssertionCheck() {
+        return new AssertionCheckThatEachElement<InMemoryPage, Double>("не превышает " + MAX_PRICE,
+                InMemoryPage::getPrices, price -> price <= MAX_PRICE, price -> "Цена " + price + " превышает " + MAX_PRICE)
+                .perform(page);
+    }
+}
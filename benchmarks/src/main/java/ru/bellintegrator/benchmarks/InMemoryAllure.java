@@ -0,0 +1,62 @@
+package ru.bellintegrator.benchmarks;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Жизненный цикл Allure, результаты которого никуда не записываются. Позволяет измерять
+ * накладные расходы степов без дискового ввода-вывода.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class InMemoryAllure {
+
+    /**
+     * Устанавливает в качестве текущего жизненного цикла Allure цикл без записи результатов.
+     *
+     * @return установленный жизненный цикл.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static AllureLifecycle install() {
+        AllureLifecycle lifecycle = new AllureLifecycle(new AllureResultsWriter() {
+            @Override
+            public void write(TestResult testResult) {
+            }
+
+            @Override
+            public void write(TestResultContainer testResultContainer) {
+            }
+
+            @Override
+            public void write(String source, InputStream attachment) {
+            }
+        });
+        Allure.setLifecycle(lifecycle);
+        return lifecycle;
+    }
+
+    /**
+     * Выполняет переданное действие внутри запущенного тест-кейса Allure, чтобы степы было к чему прикреплять.
+     *
+     * @param lifecycle жизненный цикл Allure.
+     * @param body      действие.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static void inTestCase(AllureLifecycle lifecycle, Runnable body) {
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("benchmark"));
+        lifecycle.startTestCase(uuid);
+        try {
+            body.run();
+        } finally {
+            lifecycle.stopTestCase(uuid);
+            lifecycle.writeTestCase(uuid);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ru.bellintegrator.benchmarks;
+
+import helpers.pageable.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Страница с набором элементов в памяти, не требующая браузера. Позволяет измерять
+ * стоимость самих проверок без обращений к веб-драйверу.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class InMemoryPage implements Pageable {
+    /**
+     * Верхняя граница "корректной" цены: элементы выше нее проваливают проверку.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static final double MAX_PRICE = 900_000;
+
+    private final List<Double> prices;
+    private final double[] priceArray;
+    private final List<String> names;
+    private final int pageCount;
+    private int currentPage = 1;
+
+    /**
+     * Создает страницу с заданным количеством элементов.
+     *
+     * @param elementCount количество элементов страницы.
+     * @param failureRatio доля элементов (от 0 до 1), не проходящих проверку.
+     * @param pageCount    количество страниц, по которым можно перейти методом {@link #nextPage()}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public InMemoryPage(int elementCount, double failureRatio, int pageCount) {
+        this.pageCount = pageCount;
+        Random random = new Random(42);
+        prices = new ArrayList<>(elementCount);
+        names = new ArrayList<>(elementCount);
+        for (int i = 0; i < elementCount; i++) {
+            boolean failed = random.nextDouble() < failureRatio;
+            prices.add(failed ? MAX_PRICE + 1 + random.nextInt(100_000) : 10_000 + random.nextInt(800_000));
+            names.add((failed ? "Acer Aspire " : "Lenovo IdeaPad ") + i);
+        }
+        priceArray = prices.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public List<Double> getPrices() {
+        return prices;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public double[] getPriceArray() {
+        return priceArray;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Сбрасывает номер текущей страницы на первую.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void reset() {
+        currentPage = 1;
+    }
+
+    @Override
+    public boolean nextPage() {
+        if (currentPage >= pageCount) {
+            return false;
+        }
+        currentPage++;
+        return true;
+    }
+}
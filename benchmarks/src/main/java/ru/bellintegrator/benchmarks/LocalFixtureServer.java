@@ -0,0 +1,120 @@
+package ru.bellintegrator.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Встроенный HTTP сервер, отдающий страницы выдачи Маркета из ресурсов {@code fixtures/market}.
+ * Запрос {@code /catalog?page=N} обслуживается сохраненной страницей {@code page-N.html}, если она есть,
+ * иначе - шаблоном {@code category.html}, в который подставляются сгенерированные сниппеты товаров и пейджер.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class LocalFixtureServer {
+    private static final Pattern PAGE_PARAMETER = Pattern.compile("(?:^|&)page=(\\d+)");
+    private static final String RESOURCE_DIR = "/fixtures/market/";
+
+    private final HttpServer server;
+    private final int pageCount;
+    private final int productsPerPage;
+
+    /**
+     * Запускает сервер на свободном порту локального интерфейса.
+     *
+     * @param pageCount       количество страниц выдачи.
+     * @param productsPerPage количество товаров на странице.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public LocalFixtureServer(int pageCount, int productsPerPage) {
+        this.pageCount = pageCount;
+        this.productsPerPage = productsPerPage;
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/catalog", this::handleCatalog);
+        server.start();
+    }
+
+    /**
+     * Возвращает адрес страницы выдачи с указанным номером.
+     *
+     * @param pageNumber номер страницы.
+     * @return url страницы.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public String catalogUrl(int pageNumber) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/catalog?hid=91013&page=" + pageNumber;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void handleCatalog(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        Matcher matcher = PAGE_PARAMETER.matcher(query == null ? "" : query);
+        int pageNumber = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+        String body = pageNumber > pageCount ? null : renderPage(pageNumber);
+        byte[] bytes = (body == null ? "Not found" : body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+        exchange.sendResponseHeaders(body == null ? 404 : 200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private String renderPage(int pageNumber) {
+        String saved = readResource(RESOURCE_DIR + "page-" + pageNumber + ".html");
+        if (saved != null) {
+            return saved;
+        }
+        StringBuilder products = new StringBuilder();
+        for (int i = 1; i <= productsPerPage; i++) {
+            int id = (pageNumber - 1) * productsPerPage + i;
+            products.append("        <div data-autotest-id=\"product-snippet\">")
+                    .append("<a href=\"/product/").append(id).append("\"><h3 data-auto=\"snippet-title-header\">")
+                    .append(id % 2 == 0 ? "Lenovo IdeaPad " : "HUAWEI MateBook ").append(id).append("</h3></a>")
+                    .append("<span data-auto=\"snippet-price-current\">").append(40_000 + id * 10).append(" ₽</span>")
+                    .append("<span data-auto=\"rating-badge-value\">4,").append(id % 10).append("</span>")
+                    .append("</div>\n");
+        }
+        String pager = pageNumber < pageCount
+                       ? "        <div data-baobab-name=\"next\"><a href=\"" + catalogUrl(pageNumber + 1) + "\"><span>Вперёд</span></a></div>"
+                       : "";
+        return readResource(RESOURCE_DIR + "category.html")
+                .replace("{{products}}", products)
+                .replace("{{pager}}", pager);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static String readResource(String name) {
+        try (InputStream in = LocalFixtureServer.class.getResourceAsStream(name)) {
+            return in == null ? null : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
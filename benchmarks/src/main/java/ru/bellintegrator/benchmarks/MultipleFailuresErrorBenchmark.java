@@ -0,0 +1,67 @@
+package ru.bellintegrator.benchmarks;
+
+import helpers.pageable.ElementFailure;
+import helpers.pageable.ElementsCheckResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость формирования итоговой ошибки проверки ({@code MultipleFailuresError}) и ее сообщения
+ * из заранее созданных записей о провале элементов.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MultipleFailuresErrorBenchmark {
+    @Param({"10", "1000", "10000"})
+    private int failureCount;
+
+    private List<ElementFailure> failures;
+    private List<Double> failedElements;
+
+    @Setup
+    public void setUp() {
+        failures = new ArrayList<>(failureCount);
+        failedElements = new ArrayList<>(failureCount);
+        for (int i = 0; i < failureCount; i++) {
+            failures.add(new ElementFailure((double) i, "Элемент \"" + i + "\" не соответствует фильтру Цена", 1, "соответствует фильтру Цена"));
+            failedElements.add((double) i);
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Benchmark
+    public String elementFailuresResult() {
+        return new ElementsCheckResult("соответствует фильтру Цена", 1, failures, failureCount * 2)
+                .getError().orElseThrow().getMessage();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Benchmark
+    public String failedElementsResult() {
+        return new ElementsCheckResult("соответствует фильтру Цена", failedElements, 1, failureCount * 2)
+                .getError().orElseThrow().getMessage();
+    }
+}
@@ -0,0 +1,81 @@
+package ru.bellintegrator.benchmarks;
+
+import helpers.pageable.AssertionCheckThatEachElement;
+import helpers.pageable.PageableChecker;
+import helpers.pageable.PredicateCheckThatEachElement;
+import io.qameta.allure.AllureLifecycle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.opentest4j.MultipleFailuresError;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import static ru.bellintegrator.benchmarks.InMemoryAllure.inTestCase;
+import static ru.bellintegrator.benchmarks.InMemoryPage.MAX_PRICE;
+
+/**
+ * Полный прогон {@link PageableChecker} по страницам в памяти (один степ на страницу плюс по степу
+ * на каждый чек страницы), на "чистых" страницах и на страницах с большим количеством ошибок.
+ * Вместо браузера используется заглушка веб-драйвера, отдающая пустой page source.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PageableCheckerBenchmark {
+    @Param({"10", "100"})
+    private int pageCount;
+    @Param({"0", "0.5"})
+    private double failureRatio;
+
+    private AllureLifecycle lifecycle;
+    private InMemoryPage page;
+    private WebDriver driver;
+
+    @Setup
+    public void setUp() {
+        lifecycle = InMemoryAllure.install();
+        page = new InMemoryPage(48, failureRatio, pageCount);
+        driver = (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(), new Class<?>[]{WebDriver.class},
+                (proxy, method, args) -> method.getName().equals("getPageSource") ? "<html></html>" : null);
+    }
+
+    /**
+     * Полный прогон проверки в режиме <i>eager</i> с двумя чеками на каждой странице, включая итоговую ошибку
+     * (и вложение с полным списком ошибок) на страницах с ошибками.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Benchmark
+    public void pageableCheckerRun() {
+        page.reset();
+        inTestCase(lifecycle, () -> {
+            try {
+                new PageableChecker<>(page, driver)
+                        .addCheck(new PredicateCheckThatEachElement<>("содержит Lenovo",
+                                InMemoryPage::getNames, name -> name.contains("Lenovo")))
+                        .addCheck(new AssertionCheckThatEachElement<InMemoryPage, Double>("не превышает " + MAX_PRICE,
+                                InMemoryPage::getPrices, price -> price <= MAX_PRICE, price -> "Цена " + price + " превышает " + MAX_PRICE))
+                        .beLazy(false)
+                        .setPageCount(pageCount)
+                        .run();
+            } catch (MultipleFailuresError expected) {
+            }
+        });
+    }
+}
@@ -0,0 +1,218 @@
+package helpers;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.StepResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Асинхронная запись степов Allure. События степов (начало, изменение, завершение, вложение) складываются
+ * в неблокирующую очередь и пачками передаются жизненному циклу Allure фоновым потоком, поэтому поток теста
+ * на запись результатов не тратится. Степы привязываются к родителю явно (по его идентификатору), а не через
+ * текущий степ потока, поэтому тела таких степов не должны обращаться к {@code Allure.getLifecycle().updateStep(...)}
+ * без идентификатора. Родительский степ должен оставаться открытым до вызова {@link #flush()}.
+ * Время начала и завершения степа фиксируется в потоке теста, а не в фоновом потоке, поэтому задержка очереди
+ * на длительность степов в отчете не влияет.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class AsyncStepRecorder implements AutoCloseable {
+    public static final Logger logger = LoggerFactory.getLogger(AsyncStepRecorder.class);
+    /**
+     * Префикс идентификаторов степов, уникальный для JVM. Идентификатор степа - префикс и порядковый номер,
+     * что избавляет от вызова {@code UUID.randomUUID()} (и {@code SecureRandom}) на каждый степ.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final String UUID_PREFIX = UUID.randomUUID() + "-";
+    private static final AtomicLong UUID_COUNTER = new AtomicLong();
+
+    private final AllureLifecycle lifecycle;
+    private final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    /**
+     * Начатые и еще не завершенные степы. Используется только фоновым потоком.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private final Map<String, StepResult> startedSteps = new HashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "allure-step-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Создает объект записи степов.
+     *
+     * @param lifecycle жизненный цикл Allure, в который записываются степы.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public AsyncStepRecorder(AllureLifecycle lifecycle) {
+        this.lifecycle = lifecycle;
+    }
+
+    /**
+     * Возвращает новый уникальный идентификатор степа или вложения.
+     *
+     * @return идентификатор.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static String nextUuid() {
+        return UUID_PREFIX + UUID_COUNTER.incrementAndGet();
+    }
+
+    /**
+     * Начинает степ.
+     *
+     * @param parentUuid идентификатор родительского степа или тест-кейса.
+     * @param name       имя степа.
+     * @return идентификатор начатого степа.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public String start(String parentUuid, String name) {
+        String uuid = nextUuid();
+        long start = System.currentTimeMillis();
+        enqueue(() -> {
+            StepResult step = new StepResult().setName(name);
+            lifecycle.startStep(parentUuid, uuid, step);
+            step.setStart(start);
+            startedSteps.put(uuid, step);
+        });
+        return uuid;
+    }
+
+    /**
+     * Изменяет степ. Изменение выполняется в фоновом потоке, поэтому {@code update} не должен обращаться
+     * к изменяемому состоянию потока теста.
+     *
+     * @param uuid   идентификатор степа.
+     * @param update изменение степа.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void update(String uuid, Consumer<StepResult> update) {
+        enqueue(() -> lifecycle.updateStep(uuid, update));
+    }
+
+    /**
+     * Прикладывает вложение к степу. Содержимое записывается в директорию результатов фоновым потоком.
+     *
+     * @param uuid      идентификатор степа.
+     * @param name      имя вложения.
+     * @param type      MIME тип вложения.
+     * @param extension расширение файла вложения (с точкой).
+     * @param content   содержимое вложения.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void attach(String uuid, String name, String type, String extension, byte[] content) {
+        attach(uuid, () -> {
+            String source = nextUuid() + "-attachment" + extension;
+            lifecycle.writeAttachment(source, new ByteArrayInputStream(content));
+            return new Attachment().setName(name).setType(type).setSource(source);
+        });
+    }
+
+    /**
+     * Прикладывает к степу вложение, которое подготавливается (сжимается, записывается на диск и т.п.)
+     * фоновым потоком.
+     *
+     * @param uuid             идентификатор степа.
+     * @param attachmentWriter функция, записывающая содержимое вложения и возвращающая его описание
+     *                         либо {@code null}, если вложение прикладывать не нужно.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void attach(String uuid, Supplier<Attachment> attachmentWriter) {
+        enqueue(() -> {
+            Attachment attachment = attachmentWriter.get();
+            if (attachment != null) {
+                lifecycle.updateStep(uuid, step -> step.getAttachments().add(attachment));
+            }
+        });
+    }
+
+    /**
+     * Завершает степ.
+     *
+     * @param uuid идентификатор степа.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void stop(String uuid) {
+        long stop = System.currentTimeMillis();
+        enqueue(() -> {
+            lifecycle.stopStep(uuid);
+            StepResult step = startedSteps.remove(uuid);
+            if (step != null) {
+                step.setStop(stop);
+            }
+        });
+    }
+
+    /**
+     * Дожидается передачи в жизненный цикл Allure всех событий, поставленных в очередь до вызова.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void flush() {
+        try {
+            writer.submit(this::drain).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Allure step flush failed", e.getCause());
+        }
+    }
+
+    /**
+     * Дожидается записи всех событий и останавливает фоновый поток.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void enqueue(Runnable event) {
+        events.add(event);
+        if (drainScheduled.compareAndSet(false, true)) {
+            writer.execute(this::drain);
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void drain() {
+        drainScheduled.set(false);
+        for (Runnable event = events.poll(); event != null; event = events.poll()) {
+            try {
+                event.run();
+            } catch (RuntimeException e) {
+                logger.error("Failed to record Allure step event", e);
+            }
+        }
+    }
+}
@@ -9,7 +9,6 @@ import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
 import java.io.ByteArrayInputStream;
-import java.util.UUID;
 
 import static io.qameta.allure.Allure.getLifecycle;
 import static io.qameta.allure.util.ResultsUtils.getStatus;
@@ -29,7 +28,7 @@ public class CustomAllure {
      * @author Achitheus (Yury Yurchenko)
      */
     public static <T> T stepWithChangeableStatus(String name, final Allure.ThrowableRunnable<T> runnable) {
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = AsyncStepRecorder.nextUuid();
         getLifecycle().startStep(uuid, new StepResult().setName(name));
 
         try {
@@ -58,7 +57,7 @@ public class CustomAllure {
      * @author Achitheus (Yury Yurchenko)
      */
     public static void stepWithChangeableStatus(String name, final Allure.ThrowableRunnableVoid runnable) {
-        final String uuid = UUID.randomUUID().toString();
+        final String uuid = AsyncStepRecorder.nextUuid();
         getLifecycle().startStep(uuid, new StepResult().setName(name));
 
         try {
@@ -1,6 +1,8 @@
 package helpers;
 
+import helpers.locators.TimedBy;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -13,13 +15,40 @@ import java.util.Optional;
 public class CustomWait {
 
     /**
-     * То же, что и {@link WebDriver#findElement(By)}, но с возможностью изменить значение неявного ожидания
-     * на время действия метода и с той разницей, что данный метод не выбрасывает исключение, если элемент не был найден.
+     * Начальный интервал опроса страницы при мягком поиске элемента.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final Duration INITIAL_POLLING_INTERVAL = Duration.ofMillis(50);
+    /**
+     * Максимальный интервал опроса страницы при мягком поиске элемента.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final Duration MAX_POLLING_INTERVAL = Duration.ofMillis(500);
+    /**
+     * Скрипт поиска первого элемента по XPath или CSS селектору в контексте элемента (если передан) либо документа.
+     * Выполнение скрипта не зависит от неявного ожидания.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final String PROBE_SCRIPT =
+            "var context = arguments[2] || document;" +
+            "if (arguments[0] === 'xpath') {" +
+            "  var node = document.evaluate(arguments[1], context, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "  return node && node.nodeType === Node.ELEMENT_NODE ? node : null;" +
+            "}" +
+            "return context.querySelector(arguments[1]);";
+
+    /**
+     * То же, что и {@link WebDriver#findElement(By)}, но с собственным ожиданием элемента длительностью {@code tempWait}
+     * и с той разницей, что данный метод не выбрасывает исключение, если элемент не был найден.
      *
      * @param by       механизм поиска элемента.
      * @param driver   веб-драйвер.
-     * @param tempWait неявное ожидание, устанавливаемое на время действия метода.
-     * @param permWait неявное ожидание, устанавливаемое перед завершением метода.
+     * @param tempWait максимальное время ожидания элемента.
+     * @param permWait неявное ожидание теста, восстанавливаемое перед завершением метода, если
+     *                 механизм поиска не поддерживается скриптом и приходится временно менять неявное ожидание.
      * @return искомый веб-элемент.
      * @author Achitheus (Yury Yurchenko)
      */
@@ -28,22 +57,84 @@ public class CustomWait {
     }
 
     /**
-     * То же, что и {@link SearchContext#findElement(By)}, но с возможностью изменить значение неявного ожидания
-     * на время действия метода и с той разницей, что данный метод не выбрасывает исключение, если элемент не был найден.
+     * То же, что и {@link SearchContext#findElement(By)}, но с собственным ожиданием элемента длительностью {@code tempWait}
+     * и с той разницей, что данный метод не выбрасывает исключение, если элемент не был найден. <p>
+     * Для XPath и CSS селекторов неявное ожидание не меняется: страница опрашивается скриптом (одно обращение
+     * к браузеру за попытку) с увеличивающимся интервалом, а ожидание прекращается сразу после появления элемента.
+     * Для прочих механизмов поиска неявное ожидание временно меняется на {@code tempWait}.
+     * Локаторы реестра {@link helpers.locators.Locators} разворачиваются до исходных, а время ожидания учитывается в их статистике.
      *
      * @param searchContext контекст поиска веб-элемента.
      * @param by            механизм поиска элемента.
      * @param driver        веб-драйвер.
-     * @param tempWait      неявное ожидание, устанавливаемое на время действия метода.
-     * @param permWait      неявное ожидание, устанавливаемое перед завершением метода.
+     * @param tempWait      максимальное время ожидания элемента.
+     * @param permWait      неявное ожидание теста, восстанавливаемое перед завершением метода, если
+     *                      механизм поиска не поддерживается скриптом и приходится временно менять неявное ожидание.
      * @return искомый веб-элемент.
      * @author Achitheus (Yury Yurchenko)
      */
     public static Optional<WebElement> findElementSoftly(SearchContext searchContext, By by, WebDriver driver, Duration tempWait, Duration permWait) {
-        driver.manage().timeouts().implicitlyWait(tempWait);
-        List<WebElement> results = searchContext.findElements(by);
-        driver.manage().timeouts().implicitlyWait(permWait);
+        if (by instanceof TimedBy) {
+            long start = System.nanoTime();
+            try {
+                return findElementSoftly(searchContext, ((TimedBy) by).getDelegate(), driver, tempWait, permWait);
+            } finally {
+                ((TimedBy) by).record(System.nanoTime() - start);
+            }
+        }
+        Optional<String> strategy = probeStrategy(by);
+        if (strategy.isEmpty()) {
+            driver.manage().timeouts().implicitlyWait(tempWait);
+            List<WebElement> results = searchContext.findElements(by);
+            driver.manage().timeouts().implicitlyWait(permWait);
+            return Optional.ofNullable(results.isEmpty() ? null : results.get(0));
+        }
+
+        String selector = ((By.Remotable) by).getRemoteParameters().value().toString();
+        Object context = searchContext instanceof WebElement ? searchContext : null;
+        long deadline = System.nanoTime() + tempWait.toNanos();
+        Duration interval = INITIAL_POLLING_INTERVAL;
+        while (true) {
+            Object found = ((JavascriptExecutor) driver).executeScript(PROBE_SCRIPT, strategy.get(), selector, context);
+            if (found instanceof WebElement) {
+                return Optional.of((WebElement) found);
+            }
+            long nanosLeft = deadline - System.nanoTime();
+            if (nanosLeft <= 0) {
+                return Optional.empty();
+            }
+            try {
+                Thread.sleep(Math.min(interval.toMillis(), Duration.ofNanos(nanosLeft).toMillis() + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+            interval = interval.multipliedBy(2);
+            if (interval.compareTo(MAX_POLLING_INTERVAL) > 0) {
+                interval = MAX_POLLING_INTERVAL;
+            }
+        }
+    }
 
-        return Optional.ofNullable(results.isEmpty() ? null : results.get(0));
+    /**
+     * Определяет, каким способом скрипт будет искать элемент.
+     *
+     * @param by механизм поиска элемента.
+     * @return {@code xpath} или {@code css selector}, либо {@code Optional.empty()}, если механизм поиска скриптом не поддерживается.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static Optional<String> probeStrategy(By by) {
+        if (!(by instanceof By.Remotable)) {
+            return Optional.empty();
+        }
+        switch (((By.Remotable) by).getRemoteParameters().using()) {
+            case "xpath":
+                return Optional.of("xpath");
+            case "css selector":
+            case "tag name":
+                return Optional.of("css selector");
+            default:
+                return Optional.empty();
+        }
     }
 }
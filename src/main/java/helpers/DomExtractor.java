@@ -0,0 +1,53 @@
+package helpers;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Класс для пакетного извлечения данных из DOM за одно обращение к браузеру. Вместо
+ * {@code findElements()} и последующего {@code getText()} для каждого элемента (по одному
+ * HTTP запросу к веб-драйверу на элемент) весь набор значений вычисляется скриптом на стороне браузера.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class DomExtractor {
+    /**
+     * Скрипт, принимающий произвольное количество XPath выражений и возвращающий для каждого
+     * из них список значений найденных узлов: для узлов-атрибутов - значение атрибута,
+     * для элементов - {@code innerText} (то же, что возвращает {@code WebElement.getText()} для видимых элементов).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final String EXTRACT_SCRIPT =
+            "var result = [];" +
+            "for (var i = 0; i < arguments.length; i++) {" +
+            "  var nodes = document.evaluate(arguments[i], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "  var values = [];" +
+            "  for (var j = 0; j < nodes.snapshotLength; j++) {" +
+            "    var node = nodes.snapshotItem(j);" +
+            "    var value = node.nodeType === Node.ATTRIBUTE_NODE ? node.value : node.innerText;" +
+            "    values.push(value == null ? '' : value.trim());" +
+            "  }" +
+            "  result.push(values);" +
+            "}" +
+            "return result;";
+
+    /**
+     * Извлекает значения узлов, найденных по каждому из переданных XPath выражений, за одно обращение к браузеру.
+     * Выражение может указывать как на элементы (возвращается их текст), так и на атрибуты
+     * (например {@code //a/@href}, возвращается значение атрибута).
+     *
+     * @param driver веб-драйвер.
+     * @param xpaths XPath выражения.
+     * @return список списков значений, i-й список соответствует i-му выражению.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @SuppressWarnings("unchecked")
+    public static List<List<String>> extractTexts(WebDriver driver, String... xpaths) {
+        List<List<String>> result = (List<List<String>>) ((JavascriptExecutor) driver).executeScript(EXTRACT_SCRIPT, (Object[]) xpaths);
+        return result == null ? new ArrayList<>() : result;
+    }
+}
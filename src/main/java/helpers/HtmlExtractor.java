@@ -0,0 +1,48 @@
+package helpers;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Аналог {@link DomExtractor} для HTML, полученного без браузера: значения узлов вычисляются
+ * по тем же XPath выражениям над документом, разобранным jsoup.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class HtmlExtractor {
+    /**
+     * Выражение, указывающее на атрибут элемента: {@code <выражение элемента>/@<имя атрибута>}.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final Pattern ATTRIBUTE_XPATH = Pattern.compile("(.+)/@([\\w-]+)");
+
+    /**
+     * Извлекает значения узлов, найденных по каждому из переданных XPath выражений. Выражение может указывать
+     * как на элементы (возвращается их текст с нормализованными пробелами), так и на атрибуты
+     * (например {@code //a/@href}, возвращается значение атрибута).
+     *
+     * @param document разобранный HTML документ.
+     * @param xpaths   XPath выражения.
+     * @return список списков значений, i-й список соответствует i-му выражению.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static List<List<String>> extractTexts(Document document, String... xpaths) {
+        List<List<String>> result = new ArrayList<>(xpaths.length);
+        for (String xpath : xpaths) {
+            Matcher attribute = ATTRIBUTE_XPATH.matcher(xpath);
+            boolean isAttribute = attribute.matches();
+            List<String> values = new ArrayList<>();
+            for (Element element : document.selectXpath(isAttribute ? attribute.group(1) : xpath)) {
+                values.add(isAttribute ? element.attr(attribute.group(2)).trim() : element.text());
+            }
+            result.add(values);
+        }
+        return result;
+    }
+}
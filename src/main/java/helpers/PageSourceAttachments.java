@@ -0,0 +1,75 @@
+package helpers;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Запись page source во вложения Allure в сжатом виде ({@code gzip}) с адресацией по содержимому:
+ * имя файла вложения - хэш исходного HTML, поэтому одинаковые страницы записываются на диск один раз,
+ * а все вложения ссылаются на один и тот же файл. Методы класса потокобезопасны.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class PageSourceAttachments {
+    /**
+     * Имена уже записанных за время работы JVM файлов вложений.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final Set<String> writtenSources = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Записывает page source в директорию результатов Allure (если такой же еще не записан)
+     * и возвращает описание вложения, которое остается приложить к тесту или степу.
+     *
+     * @param lifecycle  жизненный цикл Allure.
+     * @param name       имя вложения.
+     * @param pageSource HTML страницы или ее части.
+     * @return описание вложения.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static Attachment write(AllureLifecycle lifecycle, String name, String pageSource) {
+        byte[] html = pageSource.getBytes(StandardCharsets.UTF_8);
+        String source = sha256(html) + "-attachment.html.gz";
+        if (writtenSources.add(source)) {
+            lifecycle.writeAttachment(source, new ByteArrayInputStream(gzip(html)));
+        }
+        return new Attachment().setName(name).setType("application/gzip").setSource(source);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 8);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static String sha256(byte[] content) {
+        try {
+            return String.format("%064x", new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(content)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
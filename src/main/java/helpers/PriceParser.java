@@ -0,0 +1,89 @@
+package helpers;
+
+import java.util.List;
+
+/**
+ * Разбор цен в том виде, в котором они представлены на странице: {@code "12 345 ₽"}, {@code "12 345,50 руб."},
+ * {@code "от 9 990 ₽"}. Цена читается за один проход по строке без регулярных выражений и промежуточных строк:
+ * пробелы (в том числе неразрывные и узкие) и апострофы внутри числа считаются разделителями разрядов,
+ * запятая или точка, за которой следует цифра, - десятичным разделителем. Разбор заканчивается на первом
+ * символе после числа (знак рубля, "руб." и т.п.).
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class PriceParser {
+    /**
+     * Максимальное количество учитываемых знаков дробной части.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final int MAX_FRACTION_DIGITS = 9;
+    private static final double[] POWERS_OF_TEN = {1, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9};
+
+    /**
+     * Разбирает цену.
+     *
+     * @param text текст цены.
+     * @return цена.
+     * @throws NumberFormatException если текст не содержит цифр.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static double parse(CharSequence text) {
+        long integerPart = 0;
+        long fractionPart = 0;
+        int fractionDigits = 0;
+        boolean digitsFound = false;
+        boolean inFraction = false;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitsFound = true;
+                if (!inFraction) {
+                    integerPart = integerPart * 10 + (c - '0');
+                } else if (fractionDigits < MAX_FRACTION_DIGITS) {
+                    fractionPart = fractionPart * 10 + (c - '0');
+                    fractionDigits++;
+                }
+            } else if (digitsFound && !inFraction && (c == ',' || c == '.') && i + 1 < length && isDigit(text.charAt(i + 1))) {
+                inFraction = true;
+            } else if (digitsFound && !isGroupSeparator(c)) {
+                break;
+            }
+        }
+        if (!digitsFound) {
+            throw new NumberFormatException("No price found in: \"" + text + "\"");
+        }
+        return integerPart + fractionPart / POWERS_OF_TEN[fractionDigits];
+    }
+
+    /**
+     * Разбирает цены в массив примитивов.
+     *
+     * @param texts тексты цен.
+     * @return цены в порядке следования текстов.
+     * @throws NumberFormatException если хотя бы один текст не содержит цифр.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static double[] parseAll(List<? extends CharSequence> texts) {
+        double[] prices = new double[texts.size()];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = parse(texts.get(i));
+        }
+        return prices;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static boolean isGroupSeparator(char c) {
+        return c == ' ' || c == '\u00A0' || c == '\u2009' || c == '\u202F' || c == '\'';
+    }
+}
@@ -0,0 +1,188 @@
+package helpers;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Сервис скриншотов для отчета. Снимок делается в потоке теста (при возможности - только области элемента),
+ * а уменьшение и перекодирование в JPEG выполняются фоновыми потоками. Суммарный размер скриншотов
+ * ограничен бюджетом: скриншоты, не уместившиеся в бюджет, в отчет не попадают. Методы класса потокобезопасны.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class ScreenshotService {
+    public static final Logger logger = LoggerFactory.getLogger(ScreenshotService.class);
+    private static final ExecutorService encoders = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-encoder");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final AtomicLong remainingBudget;
+    private final int maxWidth;
+    private final float jpegQuality;
+
+    /**
+     * Создает сервис скриншотов.
+     *
+     * @param byteBudget  суммарный размер скриншотов (в байтах), который может попасть в отчет.
+     * @param maxWidth    максимальная ширина скриншота, более широкие скриншоты пропорционально уменьшаются.
+     * @param jpegQuality качество JPEG от 0 до 1.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public ScreenshotService(long byteBudget, int maxWidth, float jpegQuality) {
+        this.remainingBudget = new AtomicLong(byteBudget);
+        this.maxWidth = maxWidth;
+        this.jpegQuality = jpegQuality;
+    }
+
+    /**
+     * Делает скриншот видимой области окна браузера.
+     *
+     * @param driver веб-драйвер.
+     * @return скриншот в формате PNG.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public byte[] capture(WebDriver driver) {
+        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+    }
+
+    /**
+     * Делает скриншот области элемента, а если элемент не найден - видимой области окна браузера.
+     * Элемент ищется скриптом, без неявного ожидания.
+     *
+     * @param driver      веб-драйвер.
+     * @param cssSelector css-селектор элемента.
+     * @return скриншот в формате PNG.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public byte[] capture(WebDriver driver, String cssSelector) {
+        Object element = ((JavascriptExecutor) driver).executeScript("return document.querySelector(arguments[0]);", cssSelector);
+        return element instanceof WebElement
+               ? ((WebElement) element).getScreenshotAs(OutputType.BYTES)
+               : capture(driver);
+    }
+
+    /**
+     * Уменьшает и перекодирует скриншот в фоновом потоке.
+     *
+     * @param png скриншот в формате PNG.
+     * @return JPEG скриншот или {@code Optional.empty()}, если он не уместился в оставшийся бюджет.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public CompletableFuture<Optional<byte[]>> encodeAsync(byte[] png) {
+        return CompletableFuture.supplyAsync(() -> encode(png), encoders);
+    }
+
+    /**
+     * Уменьшает и перекодирует скриншот в текущем потоке.
+     *
+     * @param png скриншот в формате PNG.
+     * @return JPEG скриншот или {@code Optional.empty()}, если он не уместился в оставшийся бюджет.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public Optional<byte[]> encode(byte[] png) {
+        byte[] jpeg = toJpeg(downscale(read(png)));
+        if (remainingBudget.addAndGet(-jpeg.length) < 0) {
+            remainingBudget.addAndGet(jpeg.length);
+            logger.warn("Screenshot of {} bytes skipped: screenshot budget exhausted", jpeg.length);
+            return Optional.empty();
+        }
+        return Optional.of(jpeg);
+    }
+
+    /**
+     * Перекодирует скриншот и записывает его в директорию результатов Allure. Предназначен для вызова
+     * из фонового потока, например {@link AsyncStepRecorder#attach(String, java.util.function.Supplier)}.
+     *
+     * @param lifecycle жизненный цикл Allure.
+     * @param name      имя вложения.
+     * @param png       скриншот в формате PNG.
+     * @return описание вложения или {@code null}, если скриншот не уместился в бюджет.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public Attachment write(AllureLifecycle lifecycle, String name, byte[] png) {
+        Optional<byte[]> jpeg = encode(png);
+        if (jpeg.isEmpty()) {
+            return null;
+        }
+        String source = AsyncStepRecorder.nextUuid() + "-attachment.jpg";
+        lifecycle.writeAttachment(source, new ByteArrayInputStream(jpeg.get()));
+        return new Attachment().setName(name).setType("image/jpeg").setSource(source);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private BufferedImage downscale(BufferedImage image) {
+        double scale = Math.min(1.0, (double) maxWidth / image.getWidth());
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private byte[] toJpeg(BufferedImage image) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream out = new MemoryCacheImageOutputStream(jpeg)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer.dispose();
+        }
+        return jpeg.toByteArray();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static BufferedImage read(byte[] png) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(png));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
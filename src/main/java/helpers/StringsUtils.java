@@ -30,7 +30,8 @@ public class StringsUtils {
 
     /**
      * Нечувствительно к регистру убеждается, что строка {@code string} содержит по крайней мере
-     * одну из строк списка {@code substrings}.
+     * одну из строк списка {@code substrings}. Для проверки множества строк на одном и том же списке
+     * подстрок следует использовать {@link SubstringMatcher}.
      *
      * @param string     проверяемая строка.
      * @param substrings список строк.
@@ -0,0 +1,189 @@
+package helpers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Регистро-независимый поиск любой из множества подстрок за один проход по строке (автомат Ахо-Корасик).
+ * Автомат строится один раз из списка подстрок, после чего проверка строки не зависит от количества подстрок
+ * и не создает объектов. Регистр сворачивается посимвольно и не зависит от локали
+ * ({@code Character.toLowerCase(Character.toUpperCase(c))}), в том числе для кириллицы. Объект неизменяемый
+ * и может использоваться несколькими потоками.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class SubstringMatcher {
+    /**
+     * Символы переходов каждого состояния, отсортированные по возрастанию.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private final char[][] transitionChars;
+    /**
+     * Целевые состояния переходов, i-й элемент соответствует i-му символу {@link #transitionChars}.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private final int[][] transitionTargets;
+    /**
+     * Состояние, в которое автомат переходит при отсутствии перехода по символу (суффиксная ссылка).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private final int[] fail;
+    /**
+     * Признак того, что в состоянии заканчивается хотя бы одна подстрока (с учетом суффиксных ссылок).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private final boolean[] terminal;
+    private final List<String> substrings;
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private SubstringMatcher(Collection<String> substrings) {
+        this.substrings = List.copyOf(substrings);
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Boolean> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(false);
+        for (String substring : this.substrings) {
+            int state = 0;
+            for (int i = 0; i < substring.length(); i++) {
+                char c = fold(substring.charAt(i));
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    ends.add(false);
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            ends.set(state, true);
+        }
+        int stateCount = trie.size();
+        transitionChars = new char[stateCount][];
+        transitionTargets = new int[stateCount][];
+        fail = new int[stateCount];
+        terminal = new boolean[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            TreeMap<Character, Integer> transitions = trie.get(state);
+            transitionChars[state] = new char[transitions.size()];
+            transitionTargets[state] = new int[transitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                transitionChars[state][i] = transition.getKey();
+                transitionTargets[state][i] = transition.getValue();
+                i++;
+            }
+            terminal[state] = ends.get(state);
+        }
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : transitionTargets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                int child = transitionTargets[state][i];
+                int fallback = fail[state];
+                while (fallback != 0 && next(fallback, transitionChars[state][i]) < 0) {
+                    fallback = fail[fallback];
+                }
+                int fallbackChild = next(fallback, transitionChars[state][i]);
+                fail[child] = fallbackChild < 0 ? 0 : fallbackChild;
+                terminal[child] |= terminal[fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Строит автомат поиска переданных подстрок.
+     *
+     * @param substrings искомые подстроки (регистро-независимые). Пустая подстрока содержится в любой строке.
+     * @return объект поиска подстрок.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static SubstringMatcher compile(Collection<String> substrings) {
+        return new SubstringMatcher(substrings);
+    }
+
+    /**
+     * Нечувствительно к регистру проверяет, что строка содержит по крайней мере одну из подстрок.
+     *
+     * @param string проверяемая строка.
+     * @return {@code true}, если строка содержит хотя бы одну из подстрок, иначе - {@code false}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public boolean containsAny(CharSequence string) {
+        if (terminal[0]) {
+            return true;
+        }
+        int state = 0;
+        for (int i = 0; i < string.length(); i++) {
+            char c = fold(string.charAt(i));
+            int next = next(state, c);
+            while (next < 0 && state != 0) {
+                state = fail[state];
+                next = next(state, c);
+            }
+            state = next < 0 ? 0 : next;
+            if (terminal[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Возвращает искомые подстроки.
+     *
+     * @return неизменяемый список подстрок в исходном виде.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public List<String> getSubstrings() {
+        return substrings;
+    }
+
+    @Override
+    public String toString() {
+        return substrings.toString();
+    }
+
+    /**
+     * Возвращает состояние перехода по символу или {@code -1}, если перехода нет.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private int next(int state, char c) {
+        char[] chars = transitionChars[state];
+        int low = 0;
+        int high = chars.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (chars[middle] < c) {
+                low = middle + 1;
+            } else if (chars[middle] > c) {
+                high = middle - 1;
+            } else {
+                return transitionTargets[state][middle];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
@@ -0,0 +1,211 @@
+package helpers.driver;
+
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Учет сетевого трафика браузера по страницам средствами Chrome DevTools Protocol. Страницей считается
+ * каждый переход верхнего фрейма, в том числе без перезагрузки документа (например, переход по страницам выдачи
+ * кнопками навигации). Для страницы учитываются количество и суммарный размер (в байтах, переданных по сети)
+ * загруженных запросов, а также количество запросов, заблокированных браузером.
+ * События DevTools приходят в отдельном потоке, поэтому методы класса синхронизированы.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class PageTrafficRecorder {
+    private final DevTools devTools;
+    private final List<PageTraffic> pages = new ArrayList<>();
+    private PageTraffic currentPage = new PageTraffic("(initial)");
+    private String mainFrameId;
+
+    /**
+     * Создает объект учета трафика и начинает учет в текущем окне браузера (либо в окне уже открытого сеанса DevTools).
+     *
+     * @param driver веб-драйвер, поддерживающий DevTools (например, {@code ChromeDriver} без обертки).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public PageTrafficRecorder(HasDevTools driver) {
+        this.devTools = driver.getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        listen();
+    }
+
+    /**
+     * Переносит учет в указанное окно браузера (сеанс DevTools привязан к окну).
+     *
+     * @param windowHandle дескриптор окна.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public synchronized void attach(String windowHandle) {
+        devTools.clearListeners();
+        devTools.createSession(windowHandle);
+        mainFrameId = null;
+        listen();
+    }
+
+    /**
+     * Возвращает учтенный трафик всех страниц, начиная с предыдущего вызова, и начинает учет заново
+     * (с текущей страницы).
+     *
+     * @return трафик страниц в порядке перехода на них.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public synchronized List<PageTraffic> drain() {
+        List<PageTraffic> result = new ArrayList<>(pages);
+        if (currentPage.requests > 0 || currentPage.blocked > 0) {
+            result.add(currentPage);
+        }
+        pages.clear();
+        currentPage = new PageTraffic(currentPage.url);
+        return result;
+    }
+
+    /**
+     * Формирует текстовый отчет о трафике страниц: по строке на страницу и итоговую строку.
+     *
+     * @param traffic трафик страниц.
+     * @return текстовый отчет.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static String format(List<PageTraffic> traffic) {
+        StringBuilder report = new StringBuilder("KB\trequests\tblocked\turl\n");
+        long totalBytes = 0;
+        int totalRequests = 0;
+        int totalBlocked = 0;
+        for (PageTraffic page : traffic) {
+            report.append(page.bytes / 1024).append('\t').append(page.requests).append('\t')
+                  .append(page.blocked).append('\t').append(page.url).append('\n');
+            totalBytes += page.bytes;
+            totalRequests += page.requests;
+            totalBlocked += page.blocked;
+        }
+        return report.append(totalBytes / 1024).append('\t').append(totalRequests).append('\t')
+                     .append(totalBlocked).append("\ttotal, pages: ").append(traffic.size()).append('\n')
+                     .toString();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void listen() {
+        devTools.send(new Command<>("Network.enable", Map.of()));
+        devTools.send(new Command<>("Page.enable", Map.of()));
+        devTools.addListener(event("Network.loadingFinished"), params -> onLoadingFinished(params));
+        devTools.addListener(event("Network.loadingFailed"), params -> onLoadingFailed(params));
+        devTools.addListener(event("Page.frameNavigated"), params -> onFrameNavigated(params));
+        devTools.addListener(event("Page.navigatedWithinDocument"), params -> onNavigatedWithinDocument(params));
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private synchronized void onLoadingFinished(Map<String, Object> params) {
+        currentPage.requests++;
+        currentPage.bytes += ((Number) params.getOrDefault("encodedDataLength", 0)).longValue();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private synchronized void onLoadingFailed(Map<String, Object> params) {
+        if (params.get("blockedReason") != null) {
+            currentPage.blocked++;
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized void onFrameNavigated(Map<String, Object> params) {
+        Map<String, Object> frame = (Map<String, Object>) params.get("frame");
+        if (frame.get("parentId") == null) {
+            mainFrameId = (String) frame.get("id");
+            startPage((String) frame.get("url"));
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private synchronized void onNavigatedWithinDocument(Map<String, Object> params) {
+        if (params.get("frameId").equals(mainFrameId)) {
+            startPage((String) params.get("url"));
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void startPage(String url) {
+        if (currentPage.requests > 0 || currentPage.blocked > 0) {
+            pages.add(currentPage);
+        }
+        currentPage = new PageTraffic(url);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    /**
+     * Трафик одной страницы.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static class PageTraffic {
+        private final String url;
+        private int requests;
+        private long bytes;
+        private int blocked;
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        private PageTraffic(String url) {
+            this.url = url;
+        }
+
+        /**
+         * @return url страницы.
+         * @author Achitheus (Yury Yurchenko)
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * @return количество загруженных запросов.
+         * @author Achitheus (Yury Yurchenko)
+         */
+        public int getRequests() {
+            return requests;
+        }
+
+        /**
+         * @return количество байт, переданных по сети.
+         * @author Achitheus (Yury Yurchenko)
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return количество запросов, заблокированных браузером.
+         * @author Achitheus (Yury Yurchenko)
+         */
+        public int getBlocked() {
+            return blocked;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package helpers.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Слушатель {@code EventFiringDecorator}, блокирующий загрузку ресурсов по шаблонам url
+ * ({@code Network.setBlockedURLs} Chrome DevTools Protocol). Блокировка действует только в окне, для которого
+ * она установлена, поэтому после каждого переключения на другое окно (в том числе новое) устанавливается заново.
+ * Одновременно переносит в новое окно учет трафика, если он включен. Один объект слушателя обслуживает один сеанс браузера.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class ResourceBlocker implements WebDriverListener {
+    private final ChromiumDriver driver;
+    private final List<String> blockedUrls;
+    private final PageTrafficRecorder trafficRecorder;
+
+    /**
+     * Создает слушатель и устанавливает блокировку в текущем окне браузера.
+     *
+     * @param driver          сеанс браузера без обертки (команды DevTools не должны проходить через слушатели).
+     * @param blockedUrls     шаблоны url блокируемых ресурсов (см. {@link ResourcePolicy}).
+     * @param reportTraffic   вести ли учет трафика по страницам (см. {@link #getTrafficRecorder()}).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public ResourceBlocker(ChromiumDriver driver, List<String> blockedUrls, boolean reportTraffic) {
+        this.driver = driver;
+        this.blockedUrls = List.copyOf(blockedUrls);
+        this.trafficRecorder = reportTraffic ? new PageTrafficRecorder(driver) : null;
+        apply();
+    }
+
+    /**
+     * Возвращает учет трафика сеанса.
+     *
+     * @return учет трафика или {@code Optional.empty()}, если он выключен.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public Optional<PageTrafficRecorder> getTrafficRecorder() {
+        return Optional.ofNullable(trafficRecorder);
+    }
+
+    /**
+     * Устанавливает блокировку заново после переключения на другое окно.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (target instanceof WebDriver.TargetLocator
+                && (method.getName().equals("window") || method.getName().equals("newWindow"))) {
+            apply();
+            if (trafficRecorder != null) {
+                trafficRecorder.attach(driver.getWindowHandle());
+            }
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void apply() {
+        if (blockedUrls.isEmpty()) {
+            return;
+        }
+        driver.executeCdpCommand("Network.enable", Map.of());
+        driver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blockedUrls));
+    }
+}
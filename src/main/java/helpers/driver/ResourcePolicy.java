@@ -0,0 +1,57 @@
+package helpers.driver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Наборы шаблонов url ресурсов, загрузка которых блокируется браузером (см. {@link ResourceBlocker}).
+ * Шаблоны в формате {@code Network.setBlockedURLs}: {@code *} - любая последовательность символов.
+ * Каждый следующий набор включает шаблоны предыдущего.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public enum ResourcePolicy {
+    /**
+     * Ресурсы не блокируются.
+     */
+    OFF(List.of()),
+    /**
+     * Блокируются скрипты и пиксели аналитики и рекламы.
+     */
+    TRACKERS(List.of("*mc.yandex.ru/*", "*an.yandex.ru/*", "*yandex.ru/ads/*", "*adfox.ru/*", "*ads.adfox.ru/*",
+            "*googletagmanager.com/*", "*google-analytics.com/*", "*doubleclick.net/*", "*top-fwz1.mail.ru/*")),
+    /**
+     * То же, что и {@code TRACKERS}, а также шрифты и видео.
+     */
+    LIGHT(with(TRACKERS, "*.woff", "*.woff2", "*.ttf", "*.otf", "*.mp4", "*.webm", "*.m3u8")),
+    /**
+     * То же, что и {@code LIGHT}, а также все изображения, в том числе фотографии товаров.
+     * Подходит для проверок, читающих только текст, но скриншоты отчета будут без изображений.
+     */
+    TEXT_ONLY(with(LIGHT, "*.jpg", "*.jpeg", "*.png", "*.gif", "*.webp", "*.avif", "*.svg", "*avatars.mds.yandex.net/*"));
+
+    private final List<String> blockedUrls;
+
+    ResourcePolicy(List<String> blockedUrls) {
+        this.blockedUrls = blockedUrls;
+    }
+
+    /**
+     * Возвращает шаблоны url блокируемых ресурсов.
+     *
+     * @return неизменяемый список шаблонов url.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public List<String> getBlockedUrls() {
+        return blockedUrls;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static List<String> with(ResourcePolicy base, String... blockedUrls) {
+        List<String> result = new ArrayList<>(base.blockedUrls);
+        result.addAll(List.of(blockedUrls));
+        return List.copyOf(result);
+    }
+}
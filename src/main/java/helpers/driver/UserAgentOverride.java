@@ -0,0 +1,61 @@
+package helpers.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Слушатель {@code EventFiringDecorator}, подменяющий {@code user-agent} сеанса через Chrome DevTools Protocol
+ * ({@code Network.setUserAgentOverride}). Подмена действует только в окне, для которого она установлена, поэтому
+ * после каждого переключения на другое окно (в том числе новое) устанавливается заново, как и в {@link ResourceBlocker}.
+ * Если страница окна, на которое выполнено переключение, уже загружена с исходным {@code user-agent}
+ * (например, вкладка сервиса, открытая кликом по ссылке), она перезагружается. Один объект слушателя
+ * обслуживает один сеанс браузера.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class UserAgentOverride implements WebDriverListener {
+    private final ChromiumDriver driver;
+    private final String userAgent;
+
+    /**
+     * Создает слушатель и устанавливает подмену в текущем окне браузера.
+     *
+     * @param driver    сеанс браузера без обертки (команды DevTools не должны проходить через слушатели).
+     * @param userAgent подставляемое значение {@code user-agent}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public UserAgentOverride(ChromiumDriver driver, String userAgent) {
+        this.driver = driver;
+        this.userAgent = userAgent;
+        apply();
+    }
+
+    /**
+     * Устанавливает подмену заново после переключения на другое окно и перезагружает его страницу,
+     * если она была загружена без подмены.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (target instanceof WebDriver.TargetLocator
+                && (method.getName().equals("window") || method.getName().equals("newWindow"))) {
+            apply();
+            if (!driver.getCurrentUrl().startsWith("about:")
+                    && !userAgent.equals(driver.executeScript("return navigator.userAgent;"))) {
+                driver.navigate().refresh();
+            }
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void apply() {
+        driver.executeCdpCommand("Network.setUserAgentOverride", Map.of("userAgent", userAgent));
+    }
+}
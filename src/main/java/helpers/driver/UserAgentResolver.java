@@ -0,0 +1,81 @@
+package helpers.driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Класс для получения значения {@code user-agent} браузера без признака headless-режима.
+ * Значение вычисляется не более одного раза за время работы JVM и далее передается
+ * в {@link ChromeOptions} всех создаваемых сеансов.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class UserAgentResolver {
+    /**
+     * Вычисленное значение {@code user-agent} (без признака headless-режима).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static volatile String userAgent;
+
+    /**
+     * Возвращает вычисленное ранее значение {@code user-agent}.
+     *
+     * @return значение {@code user-agent} или {@code Optional.empty()}, если оно еще не вычислено.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static Optional<String> cachedUserAgent() {
+        return Optional.ofNullable(userAgent);
+    }
+
+    /**
+     * Возвращает значение {@code user-agent}, при первом вызове вычисляя его с помощью
+     * временного headless-браузера. Последующие вызовы браузер не запускают.
+     *
+     * @return значение {@code user-agent} без признака headless-режима.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static synchronized String resolveWithTemporaryBrowser() {
+        if (userAgent == null) {
+            WebDriver chromedriver = new ChromeDriver(new ChromeOptions().addArguments("--headless=new"));
+            try {
+                userAgent = withoutHeadless((String) ((JavascriptExecutor) chromedriver).executeScript("return navigator.userAgent;"));
+            } finally {
+                chromedriver.quit();
+            }
+        }
+        return userAgent;
+    }
+
+    /**
+     * Подменяет {@code user-agent} уже запущенного сеанса через Chrome DevTools Protocol
+     * ({@code Network.setUserAgentOverride}), не запуская второй браузер. Исходное значение
+     * берется из {@code Browser.getVersion} и запоминается для последующих сеансов.
+     * Подмена действует только для текущей вкладки, поэтому возвращаемый слушатель нужно подключить к сеансу
+     * через {@code EventFiringDecorator}: он устанавливает подмену заново при переключении на другие вкладки.
+     *
+     * @param driver сеанс Chromium-браузера, запущенный без аргумента {@code --user-agent}.
+     * @return слушатель, поддерживающий подмену во всех вкладках сеанса.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static UserAgentOverride overrideViaCdp(ChromiumDriver driver) {
+        Map<String, Object> version = driver.executeCdpCommand("Browser.getVersion", Map.of());
+        String resolved = withoutHeadless((String) version.get("userAgent"));
+        UserAgentOverride override = new UserAgentOverride(driver, resolved);
+        userAgent = resolved;
+        return override;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static String withoutHeadless(String userAgent) {
+        return userAgent.replaceAll("(Headless)", "");
+    }
+}
@@ -0,0 +1,224 @@
+package helpers.driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Пул "прогретых" сеансов браузера. Вместо закрытия после теста сеанс сбрасывается
+ * (cookies, storage, вкладки, неявное ожидание) и возвращается в пул для следующего теста.
+ * Сеанс, не прошедший сброс (браузер упал, сеанс истек и т.п.), закрывается и из пула исключается.
+ * Методы класса потокобезопасны.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class WebDriverPool {
+    public static final Logger logger = LoggerFactory.getLogger(WebDriverPool.class);
+    /**
+     * Скрипт очистки хранилищ текущего источника, используемый для браузеров без CDP. На страницах без источника
+     * (например, {@code about:blank}) доступ к хранилищам запрещен, поэтому ошибка игнорируется.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+
+    private final Supplier<WebDriver> driverFactory;
+    private final int capacity;
+    private final Duration implicitlyWait;
+    private final boolean clearBrowserState;
+    private final LinkedBlockingDeque<WebDriver> idleDrivers = new LinkedBlockingDeque<>();
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicInteger evictions = new AtomicInteger();
+    private final AtomicInteger resets = new AtomicInteger();
+    private final AtomicLong resetNanos = new AtomicLong();
+
+    /**
+     * Создает пустой пул сеансов. Сеансы создаются по мере необходимости.
+     *
+     * @param driverFactory     фабрика веб-драйверов, каждый вызов должен создавать новый сеанс браузера.
+     * @param capacity          максимальное количество простаивающих сеансов, хранимых в пуле.
+     * @param implicitlyWait    неявное ожидание, восстанавливаемое при сбросе сеанса.
+     * @param clearBrowserState очищать ли при сбросе cookies и хранилища. Следует передавать {@code false},
+     *                          если сеансы работают с профилем браузера, состояние которого нужно сохранить.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public WebDriverPool(Supplier<WebDriver> driverFactory, int capacity, Duration implicitlyWait, boolean clearBrowserState) {
+        this.driverFactory = driverFactory;
+        this.capacity = capacity;
+        this.implicitlyWait = implicitlyWait;
+        this.clearBrowserState = clearBrowserState;
+    }
+
+    /**
+     * Выдает простаивающий сеанс из пула либо, если таких нет, создает новый.
+     *
+     * @return веб-драйвер, монопольно принадлежащий вызывающему до вызова {@link #release(WebDriver)}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public WebDriver acquire() {
+        WebDriver driver = idleDrivers.pollFirst();
+        if (driver != null) {
+            hits.incrementAndGet();
+            return driver;
+        }
+        misses.incrementAndGet();
+        return driverFactory.get();
+    }
+
+    /**
+     * Сбрасывает сеанс и возвращает его в пул. Сеанс закрывается, если сброс не удался
+     * либо пул уже заполнен.
+     *
+     * @param driver веб-драйвер, ранее полученный методом {@link #acquire()}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void release(WebDriver driver) {
+        if (!reset(driver)) {
+            evictions.incrementAndGet();
+            quietlyQuit(driver);
+        } else if (idleDrivers.size() >= capacity) {
+            quietlyQuit(driver);
+        } else {
+            idleDrivers.offerFirst(driver);
+        }
+    }
+
+    /**
+     * Приводит сеанс в исходное состояние: закрывает все вкладки, кроме одной, очищает cookies и хранилища всех источников,
+     * восстанавливает неявное ожидание и открывает пустую страницу. Одновременно служит проверкой
+     * работоспособности сеанса.
+     *
+     * @param driver веб-драйвер.
+     * @return {@code true}, если сеанс успешно сброшен, иначе - {@code false}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private boolean reset(WebDriver driver) {
+        long start = System.nanoTime();
+        try {
+            List<String> windows = List.copyOf(driver.getWindowHandles());
+            for (int i = 1; i < windows.size(); i++) {
+                driver.switchTo().window(windows.get(i)).close();
+            }
+            driver.switchTo().window(windows.get(0));
+            if (clearBrowserState) {
+                clearBrowserState(driver);
+            }
+            driver.manage().timeouts().implicitlyWait(implicitlyWait);
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException | IndexOutOfBoundsException e) {
+            logger.warn("WebDriver session failed health check and will be evicted: {}", e.getMessage());
+            return false;
+        } finally {
+            resets.incrementAndGet();
+            resetNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Очищает cookies и хранилища всех источников, посещенных сеансом, командами CDP. Если браузер
+     * не поддерживает CDP (например, удаленный сеанс), очищаются только cookies и хранилища текущего источника.
+     *
+     * @param driver веб-драйвер.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void clearBrowserState(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", "*", "storageTypes", "all"));
+            return;
+        }
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+        driver.manage().deleteAllCookies();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void quietlyQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.warn("Failed to quit WebDriver session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Закрывает все простаивающие сеансы пула и логгирует статистику пула.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void close() {
+        for (WebDriver driver = idleDrivers.pollFirst(); driver != null; driver = idleDrivers.pollFirst()) {
+            quietlyQuit(driver);
+        }
+        logger.info("WebDriver pool closed. {}", getStatistics());
+    }
+
+    /**
+     * Возвращает количество выдач уже созданного сеанса.
+     *
+     * @return количество попаданий в пул.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Возвращает количество выдач, для которых потребовалось создать новый сеанс.
+     *
+     * @return количество промахов пула.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Возвращает количество сеансов, исключенных из пула после неудачного сброса.
+     *
+     * @return количество исключенных сеансов.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public int getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Возвращает среднее время сброса сеанса.
+     *
+     * @return среднее время сброса сеанса или {@code Duration.ZERO}, если сбросов не было.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public Duration getAverageResetTime() {
+        int resetCount = resets.get();
+        return resetCount == 0 ? Duration.ZERO : Duration.ofNanos(resetNanos.get() / resetCount);
+    }
+
+    /**
+     * Возвращает сводку статистики пула.
+     *
+     * @return строка со статистикой пула.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public String getStatistics() {
+        return "hits: " + getHits() + ", misses: " + getMisses() + ", evictions: " + getEvictions()
+                + ", resets: " + resets.get() + ", average reset time: " + getAverageResetTime().toMillis() + " ms";
+    }
+}
@@ -0,0 +1,80 @@
+package helpers.locators;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Статистика поисков элементов по одному локатору: количество, суммарное и максимальное время.
+ * Методы класса потокобезопасны.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class LocatorStatistics {
+    private final String locator;
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param locator описание локатора.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    LocatorStatistics(String locator) {
+        this.locator = locator;
+    }
+
+    /**
+     * Учитывает один поиск.
+     *
+     * @param nanos длительность поиска в наносекундах.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    void record(long nanos) {
+        lookups.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public String getLocator() {
+        return locator;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public long getLookups() {
+        return lookups.get();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public Duration getTotalTime() {
+        return Duration.ofNanos(totalNanos.get());
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public Duration getMaxTime() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public Duration getAverageTime() {
+        long count = lookups.get();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos.get() / count);
+    }
+
+    @Override
+    public String toString() {
+        return locator + ": lookups " + getLookups() + ", total " + getTotalTime().toMillis() + " ms, average "
+               + getAverageTime().toMillis() + " ms, max " + getMaxTime().toMillis() + " ms";
+    }
+}
@@ -0,0 +1,47 @@
+package helpers.locators;
+
+import org.openqa.selenium.By;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Параметризованный локатор. Локатор для каждого набора аргументов создается один раз и далее берется из кэша,
+ * а статистика поисков ведется по шаблону в целом.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class LocatorTemplate {
+    private final String format;
+    private final Function<String, By> compiler;
+    private final LocatorStatistics statistics;
+    private final Map<List<String>, By> locators = new ConcurrentHashMap<>();
+
+    /**
+     * @param format     шаблон селектора в формате {@link String#format(String, Object...)}.
+     * @param compiler   функция, создающая локатор по селектору.
+     * @param statistics статистика шаблона.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    LocatorTemplate(String format, Function<String, By> compiler, LocatorStatistics statistics) {
+        this.format = format;
+        this.compiler = compiler;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Возвращает локатор для переданных аргументов. Для XPath шаблонов аргументы подставляются
+     * как строковые литералы XPath, поэтому кавычки в аргументах допустимы.
+     *
+     * @param args аргументы шаблона.
+     * @return локатор.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public By with(String... args) {
+        return locators.computeIfAbsent(List.of(args), key -> new TimedBy(
+                compiler.apply(String.format(format, key.stream().map(Locators::xpathLiteral).toArray())),
+                statistics));
+    }
+}
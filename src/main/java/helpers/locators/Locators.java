@@ -0,0 +1,92 @@
+package helpers.locators;
+
+import org.openqa.selenium.By;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Реестр локаторов page object'ов. Локаторы создаются один раз (обычно в статических полях), параметризованные
+ * локаторы кэшируются по аргументам, а каждый поиск элемента замеряется. Там, где поиск не зависит от текста
+ * элемента, следует использовать {@link #css(String)}: Chrome выполняет CSS селекторы быстрее XPath.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class Locators {
+    private static final Map<String, LocatorStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Возвращает локатор по CSS селектору.
+     *
+     * @param cssSelector CSS селектор.
+     * @return замеряемый локатор.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static By css(String cssSelector) {
+        return new TimedBy(By.cssSelector(cssSelector), statisticsOf("css: " + cssSelector));
+    }
+
+    /**
+     * Возвращает локатор по XPath. Следует использовать, только если условие поиска не выразимо
+     * CSS селектором (например, зависит от текста элемента).
+     *
+     * @param xpath XPath выражение.
+     * @return замеряемый локатор.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static By xpath(String xpath) {
+        return new TimedBy(By.xpath(xpath), statisticsOf("xpath: " + xpath));
+    }
+
+    /**
+     * Возвращает параметризованный XPath локатор.
+     *
+     * @param xpathFormat XPath выражение, в котором места аргументов обозначены {@code %s}. Аргументы подставляются
+     *                    строковыми литералами XPath (уже в кавычках), например: {@code "//a[text()=%s]"}.
+     * @return шаблон локатора.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static LocatorTemplate xpathTemplate(String xpathFormat) {
+        return new LocatorTemplate(xpathFormat, By::xpath, statisticsOf("xpath: " + xpathFormat));
+    }
+
+    /**
+     * Преобразует строку в строковый литерал XPath, корректный при любых кавычках внутри строки.
+     *
+     * @param value строка.
+     * @return строковый литерал XPath.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static String xpathLiteral(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+
+    /**
+     * Возвращает статистику поисков всех локаторов реестра, начиная с самых затратных.
+     *
+     * @return статистика локаторов, по строке на локатор.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static String getStatistics() {
+        return statistics.values().stream()
+                .filter(locator -> locator.getLookups() > 0)
+                .sorted(Comparator.comparing(LocatorStatistics::getTotalTime).reversed())
+                .map(LocatorStatistics::toString)
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static LocatorStatistics statisticsOf(String locator) {
+        return statistics.computeIfAbsent(locator, LocatorStatistics::new);
+    }
+}
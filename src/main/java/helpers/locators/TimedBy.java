@@ -0,0 +1,80 @@
+package helpers.locators;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * Локатор, замеряющий длительность поисков элементов и учитывающий ее в {@link LocatorStatistics}.
+ * Намеренно не реализует {@link By.Remotable}: иначе драйвер передавал бы параметры поиска
+ * в браузер напрямую, минуя {@link #findElements(SearchContext)}, и поиск не замерялся бы.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class TimedBy extends By {
+    private final By delegate;
+    private final LocatorStatistics statistics;
+
+    /**
+     * @param delegate   исходный локатор.
+     * @param statistics статистика локатора.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    TimedBy(By delegate, LocatorStatistics statistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Возвращает исходный локатор.
+     *
+     * @return исходный локатор.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public By getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Учитывает поиск, выполненный в обход локатора (например, скриптом по параметрам исходного локатора).
+     *
+     * @param nanos длительность поиска в наносекундах.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void record(long nanos) {
+        statistics.record(nanos);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public WebElement findElement(SearchContext context) {
+        long start = System.nanoTime();
+        try {
+            return context.findElement(delegate);
+        } finally {
+            statistics.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        long start = System.nanoTime();
+        try {
+            return context.findElements(delegate);
+        } finally {
+            statistics.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
@@ -0,0 +1,127 @@
+package helpers.metrics;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Метрики обращений к браузеру за время одного теста: гистограммы длительностей по командам WebDriver,
+ * по локаторам и по методам page object'ов, из которых команды были вызваны. Метрики привязываются
+ * к потоку теста ({@link #start()}/{@link #finish()}), поэтому параллельные тесты учитываются раздельно.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class DriverMetrics {
+    private static final ThreadLocal<DriverMetrics> current = new ThreadLocal<>();
+
+    private final Map<String, LatencyHistogram> commands = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> locators = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> pageObjectMethods = new ConcurrentHashMap<>();
+
+    /**
+     * Начинает сбор метрик в текущем потоке.
+     *
+     * @return метрики текущего потока.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static DriverMetrics start() {
+        DriverMetrics metrics = new DriverMetrics();
+        current.set(metrics);
+        return metrics;
+    }
+
+    /**
+     * Возвращает метрики текущего потока.
+     *
+     * @return метрики или {@code null}, если сбор метрик в потоке не начат.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static DriverMetrics current() {
+        return current.get();
+    }
+
+    /**
+     * Заканчивает сбор метрик в текущем потоке.
+     *
+     * @return собранные метрики или {@code null}, если сбор метрик в потоке не был начат.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static DriverMetrics finish() {
+        DriverMetrics metrics = current.get();
+        current.remove();
+        return metrics;
+    }
+
+    /**
+     * Учитывает выполнение команды.
+     *
+     * @param command          команда (например, {@code WebDriver.findElement}).
+     * @param locator          локатор для команд поиска элементов или {@code null}.
+     * @param pageObjectMethod метод page object'а, вызвавший команду, или {@code null}.
+     * @param nanos            длительность команды в наносекундах.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void record(String command, String locator, String pageObjectMethod, long nanos) {
+        commands.computeIfAbsent(command, key -> new LatencyHistogram()).record(nanos);
+        if (locator != null) {
+            locators.computeIfAbsent(locator, key -> new LatencyHistogram()).record(nanos);
+        }
+        if (pageObjectMethod != null) {
+            pageObjectMethods.computeIfAbsent(pageObjectMethod, key -> new LatencyHistogram()).record(nanos);
+        }
+    }
+
+    /**
+     * Формирует JSON с метриками: разделы {@code commands}, {@code locators} и {@code pageObjectMethods},
+     * в каждом записи отсортированы по убыванию суммарного времени.
+     *
+     * @param testName имя теста.
+     * @return JSON с метриками.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public String toJson(String testName) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("test", testName);
+        json.put("commands", sorted(commands));
+        json.put("locators", sorted(locators));
+        json.put("pageObjectMethods", sorted(pageObjectMethods));
+        return new Json().toJson(json);
+    }
+
+    /**
+     * Записывает JSON с метриками в файл, создавая недостающие директории.
+     *
+     * @param testName имя теста.
+     * @param file     файл.
+     * @return записанный JSON.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public String writeJson(String testName, Path file) {
+        String json = toJson(testName);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static Map<String, Object> sorted(Map<String, LatencyHistogram> histograms) {
+        return histograms.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getTotalNanos()).reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().toMap(), (a, b) -> a, LinkedHashMap::new));
+    }
+}
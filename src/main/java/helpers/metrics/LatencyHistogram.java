@@ -0,0 +1,84 @@
+package helpers.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Гистограмма длительностей с интервалами-степенями двойки в миллисекундах ({@code 0-1 ms}, {@code 1-2 ms},
+ * {@code 2-4 ms}, ...). Методы класса потокобезопасны.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class LatencyHistogram {
+    private static final int BUCKET_COUNT = 16;
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Учитывает одно измерение.
+     *
+     * @param nanos длительность в наносекундах.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void record(long nanos) {
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulate(nanos);
+        long millis = nanos / 1_000_000;
+        int bucket = millis == 0 ? 0 : 64 - Long.numberOfLeadingZeros(millis);
+        buckets.incrementAndGet(Math.min(bucket, BUCKET_COUNT - 1));
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    /**
+     * Возвращает сводку гистограммы для экспорта в JSON: количество, суммарное, среднее и максимальное время
+     * и непустые интервалы.
+     *
+     * @return сводка гистограммы.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        long currentCount = count.get();
+        map.put("count", currentCount);
+        map.put("totalMs", totalNanos.get() / 1_000_000.0);
+        map.put("meanMs", currentCount == 0 ? 0 : totalNanos.get() / 1_000_000.0 / currentCount);
+        map.put("maxMs", maxNanos.get() / 1_000_000.0);
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long bucketCount = buckets.get(i);
+            if (bucketCount > 0) {
+                histogram.put(bucketName(i), bucketCount);
+            }
+        }
+        map.put("histogram", histogram);
+        return map;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static String bucketName(int bucket) {
+        long lowerBound = bucket == 0 ? 0 : 1L << (bucket - 1);
+        return bucket == BUCKET_COUNT - 1 ? lowerBound + "+ ms" : lowerBound + "-" + (1L << bucket) + " ms";
+    }
+}
@@ -0,0 +1,77 @@
+package helpers.metrics;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Слушатель {@code EventFiringDecorator}, замеряющий каждую команду WebDriver (в том числе команды веб-элементов)
+ * и учитывающий ее в {@link DriverMetrics} текущего потока. Команда относится к внешнему из вызвавших ее методов
+ * page object'ов (классов пакета {@code pages}), т.е. к методу, вызванному тестом.
+ * Если сбор метрик в потоке не начат, команды не учитываются.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class MetricsListener implements WebDriverListener {
+    private static final String PAGE_OBJECT_PACKAGE = "pages.";
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+    /**
+     * Время начала выполняемых в потоке команд (команды могут быть вложенными).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method, args);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method, args);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void record(Method method, Object[] args) {
+        Long start = startTimes.get().poll();
+        DriverMetrics metrics = DriverMetrics.current();
+        if (start == null || metrics == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        String locator = args != null && args.length > 0 && args[0] instanceof By ? args[0].toString() : null;
+        metrics.record(method.getDeclaringClass().getSimpleName() + "." + method.getName(), locator, outermostPageObjectMethod(), nanos);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static String outermostPageObjectMethod() {
+        return stackWalker.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(PAGE_OBJECT_PACKAGE))
+                .reduce((inner, outer) -> outer)
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1) + "." + frame.getMethodName())
+                .orElse(null));
+    }
+}
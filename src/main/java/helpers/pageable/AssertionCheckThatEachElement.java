@@ -5,10 +5,15 @@ import java.util.Collection;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Класс для проверки элементов страницы с помощью переданного <i>утверждения</i> ({@code assertion}).
- * При каждом вызове perform() сохраняет ошибку, если хотя бы один элемент не прошел поверку.
+ * При каждом вызове perform() сохраняет ошибку, если хотя бы один элемент не прошел поверку. Ошибки утверждения
+ * элементов сразу сводятся к записям {@link ElementFailure} (сообщению без стека вызовов), однако сама ошибка,
+ * выбрасываемая утверждением, заполняет стек вызовов на каждый проваленный элемент. Поэтому конструктор
+ * с утверждением устарел: следует использовать конструктор с условием и фабрикой сообщения, при котором на
+ * проваленный элемент не выбрасывается {@code AssertionError}, а сообщение формируется только для проваленных элементов.
  * Список ошибок можно получить вызвав {@link  AssertionCheckThatEachElement#getCollectedErrors()}.
  * Рекомендуется использовать только в контексте класса {@link PageableChecker}.
  *
@@ -19,6 +24,8 @@ import java.util.function.Function;
 public class AssertionCheckThatEachElement<PAGE_OBJ, E> extends ElementsCheck<PAGE_OBJ> {
     private final Function<PAGE_OBJ, Collection<E>> elementsProvider;
     private final BiConsumer<E, String> assertion;
+    private final Predicate<E> condition;
+    private final Function<E, String> failureMessageFactory;
 
     /**
      * Создает новый объект проверки.
@@ -32,27 +39,62 @@ public class AssertionCheckThatEachElement<PAGE_OBJ, E> extends ElementsCheck<PA
      *                                второй - сформированное сообщение. Пример, если элемент является ценой: <p>
      *                                {@code (price, message) -> assertTrue(price < 10_000, message)}.
      * @author Achitheus (Yury Yurchenko)
+     * @deprecated утверждение выбрасывает и заполняет стек вызовов {@code AssertionError} на каждый проваленный
+     * элемент. Используйте {@link #AssertionCheckThatEachElement(String, Function, Predicate, Function)}, например
+     * {@code price -> price < 10_000, price -> "Цена " + price + " превышает 10000"}.
      */
+    @Deprecated
     public AssertionCheckThatEachElement(String continueConstructorName, Function<PAGE_OBJ, Collection<E>> elementsProvider, BiConsumer<E, String> assertion) {
         super(continueConstructorName);
         this.assertion = assertion;
         this.elementsProvider = elementsProvider;
+        this.condition = null;
+        this.failureMessageFactory = null;
+    }
+
+    /**
+     * Создает новый объект проверки условием с сообщением о провале элемента. В отличие от проверки утверждением,
+     * не выбрасывает и не перехватывает {@code AssertionError} на каждый проваленный элемент.
+     *
+     * @param continueConstructorName продолжение фразы "Убедиться, что каждый элемент...", т.е.
+     *                                словесное описание элемента, соответствующего условию {@code condition}.
+     *                                Не начинать с отрицания ("не превышает величину X" - плохо).
+     * @param elementsProvider        функция, предоставляющая коллекцию проверяемых объектов.
+     * @param condition               условие, которому должен соответствовать каждый элемент.
+     * @param failureMessageFactory   функция, формирующая сообщение о провале элемента (вызывается только для
+     *                                проваленных элементов). Пример, если элемент является ценой: <p>
+     *                                {@code price -> "Цена " + price + " превышает 10000"}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public AssertionCheckThatEachElement(String continueConstructorName, Function<PAGE_OBJ, Collection<E>> elementsProvider,
+                                         Predicate<E> condition, Function<E, String> failureMessageFactory) {
+        super(continueConstructorName);
+        this.assertion = null;
+        this.elementsProvider = elementsProvider;
+        this.condition = condition;
+        this.failureMessageFactory = failureMessageFactory;
     }
 
     @Override
     protected ElementsCheckResult performWithoutNumberIncrement(PAGE_OBJ target) {
         Collection<E> elementCollection = elementsProvider.apply(target);
-        List<AssertionError> errorList = new ArrayList<>();
+        List<ElementFailure> failureList = new ArrayList<>();
         for (E el : elementCollection) {
-            try {
-                assertion.accept(el, "Элемент \"" + el + "\" не " + passedElementDescription);
-            } catch (AssertionError error) {
-                errorList.add(error);
+            if (condition != null) {
+                if (!condition.test(el)) {
+                    failureList.add(new ElementFailure(el, failureMessageFactory.apply(el), checkNumber, getName()));
+                }
+            } else {
+                try {
+                    assertion.accept(el, "Элемент \"" + el + "\" не " + passedElementDescription);
+                } catch (AssertionError error) {
+                    failureList.add(new ElementFailure(el, error.getMessage(), checkNumber, getName()));
+                }
             }
         }
 
-        ElementsCheckResult elementsCheckResult = new ElementsCheckResult(passedElementDescription, checkNumber, errorList, elementCollection.size());
-        elementsCheckResult.getError().ifPresent(collectedErrors::add);
+        ElementsCheckResult elementsCheckResult = new ElementsCheckResult(passedElementDescription, checkNumber, failureList, elementCollection.size());
+        collect(elementsCheckResult);
         return elementsCheckResult;
     }
 }
@@ -0,0 +1,55 @@
+package helpers.pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+
+/**
+ * То же, что и {@link PredicateCheckThatEachElement}, но для числовых элементов, предоставляемых массивом примитивов
+ * (например, цен товаров). Элементы и условие не упаковываются в объекты: упаковываются только элементы,
+ * не прошедшие проверку, для сообщения об ошибке. Рекомендуется использовать только в контексте класса {@link PageableChecker}.
+ *
+ * @param <PAGE_OBJ> объект, предоставляющий набор проверяемых элементов
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class DoublePredicateCheckThatEachElement<PAGE_OBJ> extends ElementsCheck<PAGE_OBJ> {
+    private final DoublePredicate condition;
+    private final Function<PAGE_OBJ, double[]> elementsProvider;
+
+    /**
+     * Создает новый объект проверки.
+     *
+     * @param continueConstructorName продолжение фразы "Убедиться, что каждый элемент...", т.е.
+     *                                словесное описание элемента, соответствующего условию {@code condition}.
+     *                                Не начинать с отрицания. Пример: "соответствует фильтру Цена: [от 10000 до 900000]".
+     * @param elementsProvider        функция, предоставляющая массив проверяемых чисел.
+     * @param condition               условие, которым проверяется каждый элемент. Элемент прошел проверку, если данное условие вернуло {@code true}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public DoublePredicateCheckThatEachElement(String continueConstructorName, Function<PAGE_OBJ, double[]> elementsProvider, DoublePredicate condition) {
+        super(continueConstructorName);
+        this.condition = condition;
+        this.elementsProvider = elementsProvider;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    protected ElementsCheckResult performWithoutNumberIncrement(PAGE_OBJ target) {
+        double[] elements = elementsProvider.apply(target);
+        List<Double> failedElementList = List.of();
+        for (double element : elements) {
+            if (!condition.test(element)) {
+                if (failedElementList.isEmpty()) {
+                    failedElementList = new ArrayList<>();
+                }
+                failedElementList.add(element);
+            }
+        }
+        ElementsCheckResult elementsCheckResult = new ElementsCheckResult(passedElementDescription, failedElementList, checkNumber, elements.length);
+        collect(elementsCheckResult);
+        return elementsCheckResult;
+    }
+}
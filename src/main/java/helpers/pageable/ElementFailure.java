@@ -0,0 +1,64 @@
+package helpers.pageable;
+
+/**
+ * Легковесная запись о провале проверки одного элемента: сам элемент, сообщение, номер страницы и идентификатор чека.
+ * В отличие от {@code AssertionError}, не содержит стека вызовов. Преобразуется в {@code AssertionError}
+ * лишь при формировании ошибки проверки (см. {@link ElementsCheckResult#getError()}).
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class ElementFailure {
+    private final Object element;
+    private final String message;
+    private final int pageNumber;
+    private final String checkId;
+
+    /**
+     * Создает запись о провале проверки элемента.
+     *
+     * @param element    элемент, проваливший проверку.
+     * @param message    сообщение о провале.
+     * @param pageNumber номер страницы, с которой был получен элемент.
+     * @param checkId    идентификатор (имя) чека.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public ElementFailure(Object element, String message, int pageNumber, String checkId) {
+        this.element = element;
+        this.message = message;
+        this.pageNumber = pageNumber;
+        this.checkId = checkId;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public Object getElement() {
+        return element;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public String getCheckId() {
+        return checkId;
+    }
+
+    @Override
+    public String toString() {
+        return message;
+    }
+}
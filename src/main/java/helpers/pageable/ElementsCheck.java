@@ -3,6 +3,7 @@ package helpers.pageable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Базовый абстрактный класс проверки элементов.
@@ -11,9 +12,18 @@ import java.util.List;
  * @author Achitheus (Yury Yurchenko)
  */
 public abstract class ElementsCheck<T> implements ElementsCheckWithErrorCollector<T> {
+    /**
+     * Максимальное количество результатов проваленных проверок, сохраняемых чеком. Остальные проваленные
+     * проверки лишь подсчитываются: полный список ошибок собирает {@link ErrorAggregator} постраничной проверки.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static final int MAX_COLLECTED_ERRORS = 20;
+
     protected String passedElementDescription;
-    protected final List<AssertionError> collectedErrors = new ArrayList<>();
     protected int checkNumber = 0;
+    private final List<ElementsCheckResult> collectedResults = new ArrayList<>();
+    private int collectedErrorCount;
 
     public ElementsCheck(String passedElementDescription) {
         this.passedElementDescription = passedElementDescription;
@@ -27,8 +37,55 @@ public abstract class ElementsCheck<T> implements ElementsCheckWithErrorCollecto
 
     protected abstract ElementsCheckResult performWithoutNumberIncrement(T target);
 
+    /**
+     * Возвращает имя чека - описание элемента, прошедшего проверку.
+     *
+     * @return имя чека.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public String getName() {
+        return passedElementDescription;
+    }
+
+    /**
+     * Учитывает результат проверки: результат проваленной проверки сохраняется, если сохранено менее
+     * {@link #MAX_COLLECTED_ERRORS} результатов. Ошибка проверки при этом не формируется.
+     *
+     * @param elementsCheckResult результат проверки.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    protected final void collect(ElementsCheckResult elementsCheckResult) {
+        if (!elementsCheckResult.isFailed()) {
+            return;
+        }
+        collectedErrorCount++;
+        if (collectedResults.size() < MAX_COLLECTED_ERRORS) {
+            collectedResults.add(elementsCheckResult);
+        }
+    }
+
+    /**
+     * Возвращает ошибки не более {@link #MAX_COLLECTED_ERRORS} первых проваленных проверок.
+     * Ошибки формируются при вызове.
+     *
+     * @return список ошибок проверки элементов.
+     * @author Achitheus (Yury Yurchenko)
+     */
     @Override
     final public Collection<? extends AssertionError> getCollectedErrors() {
-        return collectedErrors;
+        return collectedResults.stream()
+                .map(result -> result.getError().orElseThrow())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Возвращает количество всех проваленных проверок, в том числе не сохраненных.
+     *
+     * @return количество проваленных проверок.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public int getCollectedErrorCount() {
+        return collectedErrorCount;
     }
 }
@@ -2,8 +2,11 @@ package helpers.pageable;
 
 import org.opentest4j.MultipleFailuresError;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static helpers.StringsUtils.collectionToString;
 
@@ -17,33 +20,46 @@ public class ElementsCheckResult {
     private String descriptionPart;
     private final boolean isFailed;
     private int failedElementCount;
-    private final AssertionError error;
+    private final Supplier<String> messageFactory;
+    private final Supplier<AssertionError> errorFactory;
+    private String message;
+    private AssertionError error;
     private int pageNumber;
     private int checkedElementCount;
 
     /**
-     * Создает объект результатов проверки элементов и формирует ошибку проверки, если проверка провалена.
-     * Ошибка проверки всегда одна, даже если количество проваленных элементов больше одного.
+     * Создает объект результатов проверки элементов. Ошибка проверки формируется из записей о провале элементов
+     * лишь при первом обращении к {@link #getError()}. Ошибка проверки всегда одна, даже если количество
+     * проваленных элементов больше одного.
      *
      * @param descriptionPart     продолжение фразы "Убедиться, что каждый элемент...", т.е.
      *                            словесное описание элемента, успешно прошедшего проверку.
      *                            Не начинать с отрицания ("не превышает величину X" - плохо).
      *                            Примеры: "содержит подстроку фыва", "соответствует условию: actualPrice > minPrice" и т.п.
      * @param pageNumber          номер страницы, с которой были получены проверенные элементы.
-     * @param errorList           список ошибок, каждая из которых получена применением утверждения ({@code Assertion}) к "плохому" элементу.
+     * @param failures            записи о провале элементов, не соответствующих утверждению ({@code Assertion}).
      * @param checkedElementCount количество проверенных элементов.
      * @author Achitheus (Yury Yurchenko)
      */
-    public ElementsCheckResult(String descriptionPart, int pageNumber, List<AssertionError> errorList, int checkedElementCount) {
-        init(descriptionPart, errorList.size(), pageNumber, checkedElementCount);
-        this.isFailed = !errorList.isEmpty();
-        if (errorList.isEmpty()) {
-            error = null;
-        } else if (errorList.size() == 1) {
-            error = errorList.get(0);
-        } else {
-            error = new MultipleFailuresError(toString(), errorList);
-        }
+    public ElementsCheckResult(String descriptionPart, int pageNumber, List<ElementFailure> failures, int checkedElementCount) {
+        init(descriptionPart, failures.size(), pageNumber, checkedElementCount);
+        this.isFailed = !failures.isEmpty();
+        this.messageFactory = () -> {
+            if (failures.size() == 1) {
+                return failures.get(0).getMessage();
+            }
+            StringBuilder message = new StringBuilder(toString());
+            failures.forEach(failure -> message.append("\n\t").append(failure.getMessage()));
+            return message.toString();
+        };
+        this.errorFactory = () -> {
+            if (failures.size() == 1) {
+                return new ElementAssertionError(failures.get(0).getMessage());
+            }
+            List<AssertionError> errorList = new ArrayList<>(failures.size());
+            failures.forEach(failure -> errorList.add(new ElementAssertionError(failure.getMessage())));
+            return new MultipleFailuresError(toString(), errorList);
+        };
     }
 
     /**
@@ -62,7 +78,36 @@ public class ElementsCheckResult {
     public ElementsCheckResult(String descriptionPart, List<?> failedElementList, int pageNumber, int checkedElementCount) {
         init(descriptionPart, failedElementList.size(), pageNumber, checkedElementCount);
         this.isFailed = !failedElementList.isEmpty();
-        this.error = isFailed ? new AssertionError(toString() + "\n" + collectionToString(failedElementList)) : null;
+        this.messageFactory = () -> toString() + "\n" + collectionToString(failedElementList);
+        this.errorFactory = () -> new ElementAssertionError(getMessage());
+    }
+
+    /**
+     * Создает объект результатов потоковой проверки элементов, при которой сохраняется лишь выборка
+     * проваливших проверку элементов. Сообщение ошибки содержит выборку и количество не попавших в нее элементов.
+     *
+     * @param descriptionPart      продолжение фразы "Убедиться, что каждый элемент...", т.е.
+     *                             словесное описание элемента, успешно прошедшего проверку.
+     * @param failedElementSamples выборка элементов, проваливших проверку.
+     * @param failedElementCount   общее количество элементов, проваливших проверку.
+     * @param pageNumber           номер страницы, с которой были получены проверенные элементы.
+     * @param checkedElementCount  количество проверенных элементов.
+     * @param spillFile            файл с полным списком проваливших проверку элементов или {@code null}, если его нет.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public ElementsCheckResult(String descriptionPart, List<?> failedElementSamples, int failedElementCount,
+                               int pageNumber, int checkedElementCount, Path spillFile) {
+        init(descriptionPart, failedElementCount, pageNumber, checkedElementCount);
+        this.isFailed = failedElementCount > 0;
+        this.messageFactory = () -> {
+            String message = toString() + "\n" + collectionToString(failedElementSamples);
+            int omittedElementCount = failedElementCount - failedElementSamples.size();
+            if (omittedElementCount > 0) {
+                message += "\n... и еще " + omittedElementCount + " шт." + (spillFile == null ? "" : " Полный список: " + spillFile);
+            }
+            return message;
+        };
+        this.errorFactory = () -> new ElementAssertionError(getMessage());
     }
 
     private void init(String descriptionPart, int failedElementCount, int pageNumber, int checkedElementCount) {
@@ -83,15 +128,35 @@ public class ElementsCheckResult {
     }
 
     /**
-     * Возвращает ошибку проверки элементов, если проверка провалена.
+     * Возвращает ошибку проверки элементов, если проверка провалена. Ошибка формируется при первом вызове.
      *
      * @return ошибку проверки элементов.
      * @author Achitheus (Yury Yurchenko)
      */
     public Optional<AssertionError> getError() {
+        if (isFailed && error == null) {
+            error = errorFactory.get();
+        }
         return Optional.ofNullable(error);
     }
 
+    /**
+     * Возвращает сообщение ошибки проверки элементов, не формируя саму ошибку, либо описание проверки,
+     * если проверка прошла успешно. Сообщение формируется при первом вызове.
+     *
+     * @return сообщение ошибки или описание проверки.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public String getMessage() {
+        if (!isFailed) {
+            return toString();
+        }
+        if (message == null) {
+            message = messageFactory.get();
+        }
+        return message;
+    }
+
     @Override
     public String toString() {
         if (isFailed) {
@@ -102,4 +167,29 @@ public class ElementsCheckResult {
                     + checkedElementCount + " шт.) " + descriptionPart;
         }
     }
+
+    /**
+     * Ошибка проверки элементов без стека вызовов: стек всегда указывает на код формирования результата
+     * проверки и пользы не несет, а его захват дорог при большом количестве проваленных элементов.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static class ElementAssertionError extends AssertionError {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        ElementAssertionError(String message) {
+            super(message);
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
 }
@@ -9,7 +9,7 @@ import java.util.Collection;
  * @param <T> тип объекта, предоставляющего набор проверяемых элементов
  * @author Achitheus (Yury Yurchenko)
  */
-public interface ElementsCheckWithErrorCollector<T> {
+public interface ElementsCheckWithErrorCollector<T> extends AutoCloseable {
     /**
      * Производит проверку элементов, предоставленных объектом {@code target} и
      * сохраняет объект ошибки, если хотя бы один элемент провалил проверку.
@@ -21,10 +21,31 @@ public interface ElementsCheckWithErrorCollector<T> {
     ElementsCheckResult perform(T target);
 
     /**
-     * Возвращает все накопленные при вызовах {@code perform()} ошибки проверок элементов.
+     * Возвращает накопленные при вызовах {@code perform()} ошибки проверок элементов. Реализация может хранить
+     * лишь ограниченное количество первых ошибок.
      *
      * @return список ошибок проверки элементов.
      * @author Achitheus (Yury Yurchenko)
      */
     Collection<? extends AssertionError> getCollectedErrors();
+
+    /**
+     * Возвращает имя чека, используемое при группировке ошибок.
+     *
+     * @return имя чека.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Освобождает ресурсы чека (например, открытые файлы). Вызывается {@link PageableChecker} по завершении
+     * постраничной проверки. Чек может выполняться и после закрытия: ресурсы открываются заново.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    default void close() {
+    }
 }
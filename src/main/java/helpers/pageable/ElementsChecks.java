@@ -0,0 +1,69 @@
+package helpers.pageable;
+
+import helpers.NamedRange;
+import helpers.SubstringMatcher;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Фабрики часто используемых чеков. Условия чеков подготавливаются один раз при создании чека,
+ * а не при проверке каждого элемента.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class ElementsChecks {
+
+    /**
+     * Создает чек, проверяющий, что каждая строка содержит (без учета регистра) хотя бы одну из подстрок.
+     * Подстроки компилируются в {@link SubstringMatcher}, поэтому каждая строка проверяется за один проход
+     * вне зависимости от количества подстрок.
+     *
+     * @param continueConstructorName продолжение фразы "Убедиться, что каждый элемент..." (см. {@link PredicateCheckThatEachElement}).
+     * @param elementsProvider        функция, предоставляющая коллекцию проверяемых строк.
+     * @param substrings              подстроки, одну из которых должна содержать каждая строка.
+     * @param <PAGE_OBJ>              объект, предоставляющий набор проверяемых элементов.
+     * @return чек.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static <PAGE_OBJ> PredicateCheckThatEachElement<PAGE_OBJ, String> containsAnyIgnoringCase(
+            String continueConstructorName, Function<PAGE_OBJ, Collection<String>> elementsProvider, Collection<String> substrings) {
+        SubstringMatcher matcher = SubstringMatcher.compile(substrings);
+        return new PredicateCheckThatEachElement<>(continueConstructorName, elementsProvider, matcher::containsAny);
+    }
+
+    /**
+     * То же, что и {@link #containsAnyIgnoringCase(String, Function, Collection)}, но строки читаются из потока
+     * (см. {@link StreamingCheckThatEachElement}): в результате проверки страницы сохраняется лишь выборка
+     * проваливших проверку строк, а полный их список можно записать в файл ({@link StreamingCheckThatEachElement#spillTo(java.nio.file.Path)}).
+     *
+     * @param continueConstructorName продолжение фразы "Убедиться, что каждый элемент..." (см. {@link PredicateCheckThatEachElement}).
+     * @param elementsProvider        функция, предоставляющая поток проверяемых строк.
+     * @param substrings              подстроки, одну из которых должна содержать каждая строка.
+     * @param <PAGE_OBJ>              объект, предоставляющий набор проверяемых элементов.
+     * @return чек.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static <PAGE_OBJ> StreamingCheckThatEachElement<PAGE_OBJ, String> containsAnyIgnoringCaseStreaming(
+            String continueConstructorName, Function<PAGE_OBJ, Stream<String>> elementsProvider, Collection<String> substrings) {
+        SubstringMatcher matcher = SubstringMatcher.compile(substrings);
+        return new StreamingCheckThatEachElement<>(continueConstructorName, elementsProvider, matcher::containsAny);
+    }
+
+    /**
+     * Создает чек, проверяющий, что каждое число принадлежит диапазону (включая границы). Числа не упаковываются
+     * в объекты (см. {@link DoublePredicateCheckThatEachElement}).
+     *
+     * @param continueConstructorName продолжение фразы "Убедиться, что каждый элемент..." (см. {@link PredicateCheckThatEachElement}).
+     * @param elementsProvider        функция, предоставляющая массив проверяемых чисел.
+     * @param range                   диапазон.
+     * @param <PAGE_OBJ>              объект, предоставляющий набор проверяемых элементов.
+     * @return чек.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static <PAGE_OBJ> DoublePredicateCheckThatEachElement<PAGE_OBJ> withinRange(
+            String continueConstructorName, Function<PAGE_OBJ, double[]> elementsProvider, NamedRange range) {
+        return new DoublePredicateCheckThatEachElement<>(continueConstructorName, elementsProvider, range::includes);
+    }
+}
@@ -0,0 +1,176 @@
+package helpers.pageable;
+
+import org.openqa.selenium.json.Json;
+import org.opentest4j.MultipleFailuresError;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static io.qameta.allure.Allure.addAttachment;
+
+/**
+ * Агрегатор ошибок чеков постраничной проверки с ограниченным потреблением памяти. Ошибки добавляются
+ * по мере провала чеков и группируются по чеку и сигнатуре (первая строка сообщения без чисел, т.е. без номера
+ * страницы и счетчиков элементов). В памяти хранятся счетчики не более чем {@code maxRetainedErrors} первых групп
+ * и по одной (первой) ошибке каждой из них, ошибки остальных групп лишь подсчитываются. Полный список сообщений
+ * построчно записывается во временный JSONL файл, создаваемый при добавлении первой ошибки.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class ErrorAggregator implements AutoCloseable {
+    private static final Json JSON = new Json();
+
+    private final int maxRetainedErrors;
+    private final Map<String, Integer> signatureCounts = new LinkedHashMap<>();
+    private final List<Supplier<AssertionError>> retainedErrors = new ArrayList<>();
+    private Path file;
+    private BufferedWriter writer;
+    private int errorCount;
+    private int untrackedErrorCount;
+
+    /**
+     * Создает пустой агрегатор.
+     *
+     * @param maxRetainedErrors максимальное количество ошибок, хранимых в памяти и попадающих в итоговую ошибку.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public ErrorAggregator(int maxRetainedErrors) {
+        this.maxRetainedErrors = maxRetainedErrors;
+    }
+
+    /**
+     * Добавляет ошибку чека.
+     *
+     * @param checkName имя чека.
+     * @param error     ошибка чека.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void add(String checkName, AssertionError error) {
+        add(checkName, String.valueOf(error.getMessage()), () -> error);
+    }
+
+    /**
+     * Добавляет ошибку проваленной проверки. Сигнатура и строка файла строятся по сообщению ошибки,
+     * а сама ошибка формируется, лишь если она попадает в итоговую ошибку.
+     *
+     * @param checkName           имя чека.
+     * @param elementsCheckResult результат проваленной проверки.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void add(String checkName, ElementsCheckResult elementsCheckResult) {
+        add(checkName, elementsCheckResult.getMessage(), () -> elementsCheckResult.getError().orElseThrow());
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void add(String checkName, String message, Supplier<AssertionError> error) {
+        String signature = checkName + ": " + message.lines().findFirst().orElse("").replaceAll("\\d+", "#");
+        if (signatureCounts.containsKey(signature)) {
+            signatureCounts.merge(signature, 1, Integer::sum);
+        } else if (signatureCounts.size() < maxRetainedErrors) {
+            signatureCounts.put(signature, 1);
+            retainedErrors.add(error);
+        } else {
+            untrackedErrorCount++;
+        }
+        errorCount++;
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("check", checkName);
+        line.put("signature", signature);
+        line.put("message", message);
+        StringBuilder json = new StringBuilder();
+        JSON.newOutput(json).setPrettyPrint(false).write(line);
+        try {
+            if (writer == null) {
+                if (file == null) {
+                    file = Files.createTempFile("pageable-check-errors", ".jsonl");
+                    file.toFile().deleteOnExit();
+                }
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+            }
+            writer.write(json.toString());
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Возвращает количество добавленных ошибок.
+     *
+     * @return количество ошибок.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Прикладывает полный список ошибок к текущему тесту или степу Allure и выбрасывает итоговую ошибку,
+     * если была добавлена хотя бы одна ошибка. Итоговая ошибка содержит сводку по отслеживаемым группам (остальные ошибки
+     * сводятся в одну строку) и сохраненные в памяти ошибки.
+     * Временный файл после этого удаляется.
+     *
+     * @param heading заголовок итоговой ошибки.
+     * @throws MultipleFailuresError если была добавлена хотя бы одна ошибка.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void assertEmpty(String heading) {
+        close();
+        if (errorCount == 0) {
+            return;
+        }
+        try (InputStream content = Files.newInputStream(file)) {
+            addAttachment("Pageable check errors", "application/x-ndjson", content, ".jsonl");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        StringBuilder summary = new StringBuilder(heading)
+                .append(' ').append(errorCount).append(" errors, ")
+                .append(signatureCounts.size()).append(untrackedErrorCount > 0 ? "+" : "").append(" unique (")
+                .append(retainedErrors.size()).append(" shown, full list attached):");
+        signatureCounts.forEach((signature, count) -> summary.append("\n  ").append(count).append(" x ").append(signature));
+        if (untrackedErrorCount > 0) {
+            summary.append("\n  ... and ").append(untrackedErrorCount).append(" more errors with other signatures (see attachment)");
+        }
+        List<AssertionError> errors = new ArrayList<>(retainedErrors.size());
+        retainedErrors.forEach(error -> errors.add(error.get()));
+        throw new MultipleFailuresError(summary.toString(), errors);
+    }
+
+    /**
+     * Закрывает файл со списком ошибок. Файл не удаляется: ошибки, добавленные после закрытия, дописываются в него.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer = null;
+        }
+    }
+}
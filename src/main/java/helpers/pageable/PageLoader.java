@@ -0,0 +1,45 @@
+package helpers.pageable;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Optional;
+
+/**
+ * Загрузчик страниц по номеру, работающий в собственном сеансе браузера. Используется
+ * {@link PageableChecker} в параллельном режиме: несколько загрузчиков открывают страницы
+ * одновременно, а чеки выполняются над возвращенными объектами страниц.
+ * Один загрузчик в каждый момент времени используется только одним потоком.
+ *
+ * @param <PAGE_OBJ> тип объекта, предоставляющего набор проверяемых элементов.
+ * @author Achitheus (Yury Yurchenko)
+ */
+public interface PageLoader<PAGE_OBJ> {
+    /**
+     * Открывает страницу с указанным номером и возвращает объект страницы, все проверяемые элементы
+     * которого уже получены из браузера. Возвращенный объект не должен обращаться к браузеру,
+     * поскольку к моменту выполнения чеков сеанс загрузчика может быть занят другой страницей.
+     *
+     * @param pageNumber номер страницы, начиная с единицы.
+     * @return объект страницы или {@code Optional.empty()}, если страницы с таким номером не существует.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    Optional<PAGE_OBJ> load(int pageNumber);
+
+    /**
+     * Возвращает веб-драйвер сеанса загрузчика. Через него {@link PageableChecker} сразу после загрузки страницы,
+     * пока загрузчик не перешел к следующей, снимает page source и скриншот для отчета о проваленных чеках.
+     *
+     * @return веб-драйвер сеанса или {@code Optional.empty()}, если загрузчик работает без браузера.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    default Optional<WebDriver> getDriver() {
+        return Optional.empty();
+    }
+
+    /**
+     * Закрывает сеанс браузера загрузчика.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    void close();
+}
@@ -1,17 +1,36 @@
 package helpers.pageable;
 
-import helpers.CustomAllure;
+import helpers.AsyncStepRecorder;
+import helpers.PageSourceAttachments;
+import helpers.ScreenshotService;
 import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
-import org.opentest4j.MultipleFailuresError;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static helpers.CustomAllure.stepWithChangeableStatus;
-import static io.qameta.allure.Allure.addAttachment;
 import static io.qameta.allure.Allure.getLifecycle;
+import static io.qameta.allure.util.ResultsUtils.getStatus;
 import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
 
 /**
@@ -20,25 +39,44 @@ import static io.qameta.allure.util.ResultsUtils.getStatusDetails;
  * <i>Чек</i> - "подпроверка", например наличие картинки у элементов или корректности формата описания элементов. <p>
  * <i>Проверка</i> - общая совокупная проверка, запускаемая методом {@code run()}, и включающая один или множество <i>чеков</i>. <p>
  * Проверка поддерживает два режима: <i>lazy</i> и <i>eager</i>. <i>Lazy</i> - чек, однажды провалившись, больше не выполняется.
- * <i>Eager</i> - проверяются все чеки на всех проверяемых страницах.
+ * <i>Eager</i> - проверяются все чеки на всех проверяемых страницах. <p>
+ * Страницы могут загружаться как последовательно ({@link Pageable#nextPage()}), так и параллельно
+ * несколькими сеансами браузера (см. {@link #inParallel(int, Supplier)}), в том числе с предзагрузкой следующих
+ * страниц на время выполнения чеков текущей (см. {@link #prefetch(int)}). В обоих режимах чеки выполняются
+ * в потоке, запустившем проверку, строго в порядке следования страниц. <p>
+ * Степы Allure привязаны к потоку теста, поэтому проверка должна выполняться в потоке, создавшем ее
+ * объект. Это позволяет параллельно выполняемым тестам строить свои деревья степов независимо друг от друга.
  *
  * @param <PAGE_OBJ> тип объекта, предоставляющего набор проверяемых элементов.
  * @author Achitheus (Yury Yurchenko)
  */
 public class PageableChecker<PAGE_OBJ extends Pageable> {
+    public static final Logger logger = LoggerFactory.getLogger(PageableChecker.class);
     private final WebDriver driver;
-    private final List<AssertionError> errorList = new ArrayList<>();
     private boolean pageableCheckFailed;
     private boolean lazyMode = true;
     private final PAGE_OBJ target;
     private final List<ElementsCheckWithErrorCollector<PAGE_OBJ>> checkList;
     private int pageCount = 1_000;
+    private int maxReportedErrors = 20;
+    private String pageSourceScope;
+    private Function<PAGE_OBJ, String> pageSourceProvider;
+    private ScreenshotService screenshotService;
+    private String screenshotRegion;
+    private int sessionCount = 1;
+    private int prefetchDepth;
+    private Supplier<PageLoader<PAGE_OBJ>> pageLoaderFactory;
+    private final Thread ownerThread = Thread.currentThread();
+    private AsyncStepRecorder steps;
+    private String runStepUuid;
+    private ErrorAggregator errorAggregator;
 
     /**
      * Создает объект проверки наборов элементов страниц одним или множеством чеков.
      *
      * @param target целевой объект, содержащий методы, которые возвращают коллекцию проверяемых элементов (page object).
-     * @param driver WebDriver для сохранения page source там, где был провален хотя бы один чек.
+     * @param driver WebDriver для сохранения page source там, где был провален хотя бы один чек. Может быть {@code null},
+     *               если page source задается {@link #pageSourceFrom(Function)}.
      * @author Achitheus (Yury Yurchenko)
      */
     public PageableChecker(PAGE_OBJ target, WebDriver driver) {
@@ -74,6 +112,44 @@ public class PageableChecker<PAGE_OBJ extends Pageable> {
         return this;
     }
 
+    /**
+     * Включает параллельный режим: первая страница проверяется на целевом объекте, а последующие
+     * загружаются по номеру одновременно {@code sessionCount} сеансами браузера (каждый со своим загрузчиком).
+     * Загрузка следующих страниц идет параллельно с выполнением чеков текущей, при этом
+     * количество загруженных, но еще не проверенных страниц не превышает {@code sessionCount}.
+     * Результаты проверяются в порядке номеров страниц, поэтому дерево степов и поведение режима <i>lazy</i>
+     * такие же, как и при последовательном обходе. Page source (и скриншот, см. {@link #screenshotOnFailure(ScreenshotService, String)})
+     * страницы, загруженной параллельным сеансом, снимается в сеансе загрузчика, только если на странице провален
+     * хотя бы один чек: до окончания проверки страницы сеанс за ней закреплен и следующих страниц не загружает.
+     *
+     * @param sessionCount      количество параллельных сеансов. Если значение меньше двух и предзагрузка
+     *                          (см. {@link #prefetch(int)}) не включена, страницы обходятся последовательно.
+     * @param pageLoaderFactory фабрика загрузчиков страниц, каждый вызов должен создавать новый сеанс браузера.
+     * @return текущий объект проверки страниц ({@code this}).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public PageableChecker<PAGE_OBJ> inParallel(int sessionCount, Supplier<PageLoader<PAGE_OBJ>> pageLoaderFactory) {
+        this.sessionCount = sessionCount;
+        this.pageLoaderFactory = pageLoaderFactory;
+        return this;
+    }
+
+    /**
+     * Включает конвейерный режим: пока выполняются чеки текущей страницы, следующие страницы уже загружаются
+     * сеансами загрузчиков (см. {@link #inParallel(int, Supplier)}), поэтому время обхода страницы стремится к большему
+     * из времени загрузки и времени чеков, а не к их сумме. В отличие от {@code inParallel}, работает и с одним сеансом загрузчика.
+     *
+     * @param depth максимальное количество загруженных (загружаемых), но еще не проверенных страниц. Если значение
+     *              не больше нуля, оно равно количеству сеансов загрузчиков. Загрузчики с сеансом браузера закреплены
+     *              за страницей до ее проверки, поэтому для них глубина дополнительно ограничена количеством сеансов.
+     * @return текущий объект проверки страниц ({@code this}).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public PageableChecker<PAGE_OBJ> prefetch(int depth) {
+        this.prefetchDepth = depth;
+        return this;
+    }
+
     /**
      * Выполняет добавленные чеки на проверяемых страницах и по завершению выбрасывает все собранные
      * в чеках ошибки в виде {@code MultipleFailuresError}.
@@ -89,14 +165,77 @@ public class PageableChecker<PAGE_OBJ extends Pageable> {
     }
 
     /**
-     * Выбрасывает все накопленные в чеках ошибки ({@code AssertionError}).
+     * Ограничивает page source, прикладываемый к отчету на страницах с проваленными чеками, областью страницы.
+     * Если область на странице не найдена, прикладывается page source всей страницы. Page source в любом
+     * случае сжимается, а одинаковые page source записываются один раз (см. {@link PageSourceAttachments}).
+     *
+     * @param cssSelector css-селектор области страницы, например {@code "main#searchResults"}.
+     * @return текущий объект проверки страниц ({@code this}).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public PageableChecker<PAGE_OBJ> setPageSourceScope(String cssSelector) {
+        this.pageSourceScope = cssSelector;
+        return this;
+    }
+
+    /**
+     * Задает источник page source страниц с проваленными чеками вместо веб-драйвера. Используется объектами страниц,
+     * HTML которых получен без браузера: page source прикладывается для всех страниц, в том числе загруженных
+     * параллельно, а {@link #setPageSourceScope(String)} не учитывается.
+     *
+     * @param pageSourceProvider функция, возвращающая HTML объекта страницы.
+     * @return текущий объект проверки страниц ({@code this}).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public PageableChecker<PAGE_OBJ> pageSourceFrom(Function<PAGE_OBJ, String> pageSourceProvider) {
+        this.pageSourceProvider = pageSourceProvider;
+        return this;
+    }
+
+    /**
+     * Включает скриншоты страниц с проваленными чеками. Снимается только область элемента, заданного селектором
+     * (либо видимая область окна, если элемент не найден), а перекодирование и запись скриншота выполняются в фоне.
+     * Для страниц, загруженных параллельными сеансами, скриншот снимается в сеансе загрузчика сразу после загрузки.
+     *
+     * @param screenshotService сервис скриншотов.
+     * @param cssSelector       css-селектор снимаемого элемента.
+     * @return текущий объект проверки страниц ({@code this}).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public PageableChecker<PAGE_OBJ> screenshotOnFailure(ScreenshotService screenshotService, String cssSelector) {
+        this.screenshotService = screenshotService;
+        this.screenshotRegion = cssSelector;
+        return this;
+    }
+
+    /**
+     * Устанавливает максимальное количество ошибок, включаемых в итоговую ошибку {@link #assertAll()}.
+     * По дефолту равно 20.
+     *
+     * @param maxReportedErrors максимальное количество ошибок в итоговой ошибке.
+     * @return текущий объект проверки страниц ({@code this}).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public PageableChecker<PAGE_OBJ> setMaxReportedErrors(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+        return this;
+    }
+
+    /**
+     * Выбрасывает накопленные при проверке ошибки ({@code AssertionError}) в виде одной {@code MultipleFailuresError}.
+     * Ошибки передаются в {@link ErrorAggregator} сразу по мере провала чеков: одинаковые ошибки (одного чека на разных
+     * страницах) сводятся в счетчики, в итоговую ошибку попадает не более {@code maxReportedErrors} ошибок,
+     * а полный список прикладывается к отчету JSONL файлом. После вызова накопленные ошибки сбрасываются.
      *
      * @author Achitheus (Yury Yurchenko)
      */
     public void assertAll() {
-        checkList.forEach(check -> errorList.addAll(check.getCollectedErrors()));
-        if (!errorList.isEmpty())
-            throw new MultipleFailuresError("Pageable check assertion failures:", errorList);
+        if (errorAggregator == null) {
+            return;
+        }
+        ErrorAggregator aggregator = errorAggregator;
+        errorAggregator = null;
+        aggregator.assertEmpty("Pageable check assertion failures:");
     }
 
     /**
@@ -117,9 +256,14 @@ public class PageableChecker<PAGE_OBJ extends Pageable> {
      * {@link PageableChecker#assertAll()}!
      *
      * @return текущий объект проверки страниц ({@code this}).
+     * @throws IllegalStateException если метод вызван не в потоке, создавшем объект проверки.
      * @author Achitheus (Yury Yurchenko)
      */
     public PageableChecker<PAGE_OBJ> runWithoutThrowing() {
+        if (Thread.currentThread() != ownerThread) {
+            throw new IllegalStateException("Pageable check must be run in the thread that created it ("
+                                            + ownerThread.getName() + "), but was run in " + Thread.currentThread().getName());
+        }
         stepWithChangeableStatus("Постраничная проверка. Режим " + (lazyMode
                         ? "lazy (упавший чек на последующих стр. пропускается)"
                         : "eager (чеки не скипаются, проверяются все страницы)"),
@@ -128,19 +272,25 @@ public class PageableChecker<PAGE_OBJ extends Pageable> {
                         throw new RuntimeException("Checklist is empty");
                     }
                     List<ElementsCheckWithErrorCollector<PAGE_OBJ>> activeChecks = new ArrayList<>(checkList);
-                    int currentPageNumber = 0;
-                    do {
-                        currentPageNumber++;
-                        stepWithChangeableStatus("Страница " + currentPageNumber + (lazyMode ? ". Активных проверок: " + activeChecks.size() : ""),
-                                () -> {
-                                    if (!processPageCheck(activeChecks)) {
-                                        pageableCheckFailed = true;
-                                        getLifecycle().updateStep(step -> step.setStatus(Status.FAILED));
-                                        addAttachment("Page source", "text/html", driver.getPageSource(), ".html");
-                                    }
-                                }
-                        );
-                    } while (!activeChecks.isEmpty() && currentPageNumber < pageCount && target.nextPage());
+                    runStepUuid = getLifecycle().getCurrentTestCaseOrStep().orElse(null);
+                    try (AsyncStepRecorder recorder = new AsyncStepRecorder(getLifecycle())) {
+                        steps = recorder;
+                        if (pageLoaderFactory != null && (sessionCount > 1 || prefetchDepth > 0)) {
+                            runInParallel(activeChecks);
+                        } else {
+                            int currentPageNumber = 0;
+                            do {
+                                currentPageNumber++;
+                                processPage(currentPageNumber, target, this::captureDiagnostics, activeChecks);
+                            } while (!activeChecks.isEmpty() && currentPageNumber < pageCount && target.nextPage());
+                        }
+                    } finally {
+                        steps = null;
+                        checkList.forEach(ElementsCheckWithErrorCollector::close);
+                        if (errorAggregator != null) {
+                            errorAggregator.close();
+                        }
+                    }
                     if (pageableCheckFailed) {
                         getLifecycle().updateStep(step -> step.setStatus(Status.FAILED));
                     }
@@ -149,28 +299,206 @@ public class PageableChecker<PAGE_OBJ extends Pageable> {
         return this;
     }
 
+    /**
+     * Обходит страницы в параллельном (конвейерном) режиме. Страницы, начиная со второй, загружаются пулом потоков,
+     * у каждого из которых свой загрузчик (сеанс браузера), а чеки выполняются в текущем потоке по порядку.
+     * Загрузчики выдаются страницам в порядке их номеров в текущем потоке, поэтому сеансов создается не больше,
+     * чем {@code sessionCount}. Сеанс браузера остается закрепленным за загруженной страницей до окончания ее проверки,
+     * чтобы page source и скриншот проваленной страницы можно было снять в нем лишь при провале чеков.
+     * Время выполнения чеков и ожидания загрузки страниц логгируется, что позволяет подобрать глубину предзагрузки.
+     *
+     * @param activeChecks изменяемый список активных чеков.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void runInParallel(List<ElementsCheckWithErrorCollector<PAGE_OBJ>> activeChecks) {
+        int loaderCount = Math.max(sessionCount, 1);
+        int depth = prefetchDepth > 0 ? prefetchDepth : loaderCount;
+        ExecutorService executor = Executors.newFixedThreadPool(loaderCount);
+        BlockingQueue<PageLoader<PAGE_OBJ>> idleLoaders = new LinkedBlockingQueue<>();
+        List<PageLoader<PAGE_OBJ>> createdLoaders = Collections.synchronizedList(new ArrayList<>());
+        Deque<Future<Optional<LoadedPage<PAGE_OBJ>>>> scheduledPages = new ArrayDeque<>();
+        int nextPageToSchedule = 2;
+        int assignedLoaderCount = 0;
+        long checkNanos = 0;
+        long waitNanos = 0;
+        int currentPageNumber = 1;
+        try {
+            LoadedPage<PAGE_OBJ> currentPage = new LoadedPage<>(target, this::captureDiagnostics, null);
+            while (true) {
+                for (; nextPageToSchedule <= pageCount && scheduledPages.size() < depth; nextPageToSchedule++) {
+                    PageLoader<PAGE_OBJ> loader = idleLoaders.poll();
+                    if (loader == null) {
+                        if (assignedLoaderCount >= loaderCount) {
+                            break;
+                        }
+                        assignedLoaderCount++;
+                    }
+                    int pageNumber = nextPageToSchedule;
+                    PageLoader<PAGE_OBJ> pageLoader = loader;
+                    scheduledPages.add(executor.submit(() -> loadPage(pageNumber, pageLoader, idleLoaders, createdLoaders)));
+                }
+                if (currentPage == null) {
+                    long waitStart = System.nanoTime();
+                    Optional<LoadedPage<PAGE_OBJ>> nextPage = awaitPage(scheduledPages.poll());
+                    waitNanos += System.nanoTime() - waitStart;
+                    if (nextPage.isEmpty()) {
+                        break;
+                    }
+                    currentPage = nextPage.get();
+                    currentPageNumber++;
+                    continue;
+                }
+                long checkStart = System.nanoTime();
+                try {
+                    processPage(currentPageNumber, currentPage.page, currentPage.diagnostics, activeChecks);
+                } finally {
+                    if (currentPage.reservedLoader != null) {
+                        idleLoaders.add(currentPage.reservedLoader);
+                    }
+                }
+                checkNanos += System.nanoTime() - checkStart;
+                if (activeChecks.isEmpty() || currentPageNumber >= pageCount) {
+                    break;
+                }
+                currentPage = null;
+            }
+        } finally {
+            scheduledPages.forEach(page -> page.cancel(false));
+            executor.shutdown();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            createdLoaders.forEach(PageLoader::close);
+            logger.info("Pageable check pipeline: {} pages, {} loader sessions, prefetch depth {}, checks took {} ms, waited for pages {} ms",
+                    currentPageNumber, createdLoaders.size(), depth, TimeUnit.NANOSECONDS.toMillis(checkNanos), TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+    }
+
+    /**
+     * Загружает страницу выданным ей загрузчиком либо, если загрузчик не выдан, новым. Загрузчик с сеансом браузера
+     * (когда page source не берется из объекта страницы) закрепляется за загруженной страницей: page source и скриншот
+     * снимаются в его сеансе только при провале чеков страницы, а в очередь свободных он возвращается после ее проверки.
+     * Остальные загрузчики возвращаются в очередь свободных сразу после загрузки.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private Optional<LoadedPage<PAGE_OBJ>> loadPage(int pageNumber, PageLoader<PAGE_OBJ> assignedLoader,
+                                                    BlockingQueue<PageLoader<PAGE_OBJ>> idleLoaders, List<PageLoader<PAGE_OBJ>> createdLoaders) {
+        PageLoader<PAGE_OBJ> loader = assignedLoader;
+        if (loader == null) {
+            loader = pageLoaderFactory.get();
+            createdLoaders.add(loader);
+        }
+        boolean reserved = false;
+        try {
+            Optional<PAGE_OBJ> page = loader.load(pageNumber);
+            Optional<WebDriver> loaderDriver = pageSourceProvider == null ? loader.getDriver() : Optional.empty();
+            if (page.isEmpty() || loaderDriver.isEmpty()) {
+                return page.map(loadedPage -> new LoadedPage<>(loadedPage, () -> null, null));
+            }
+            reserved = true;
+            WebDriver pageDriver = loaderDriver.get();
+            return Optional.of(new LoadedPage<>(page.get(), () -> captureDiagnosticsSafely(pageDriver), loader));
+        } finally {
+            if (!reserved) {
+                idleLoaders.add(loader);
+            }
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private Optional<LoadedPage<PAGE_OBJ>> awaitPage(Future<Optional<LoadedPage<PAGE_OBJ>>> page) {
+        if (page == null) {
+            return Optional.empty();
+        }
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Page loading failed", e.getCause());
+        }
+    }
+
+    /**
+     * Выполняет активные чеки на странице в отдельном степе. Степы страницы и чеков записываются асинхронно
+     * (см. {@link AsyncStepRecorder}) и гарантированно передаются в Allure до завершения общего степа проверки.
+     *
+     * @param pageNumber   номер страницы.
+     * @param page         объект страницы.
+     * @param diagnostics  поставщик page source и скриншота страницы, вызываемый при провале чеков
+     *                     (может вернуть {@code null}).
+     * @param activeChecks изменяемый список активных чеков.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void processPage(int pageNumber, PAGE_OBJ page, Supplier<PageDiagnostics> diagnostics,
+                             List<ElementsCheckWithErrorCollector<PAGE_OBJ>> activeChecks) {
+        String pageStepUuid = steps.start(runStepUuid,
+                "Страница " + pageNumber + (lazyMode ? ". Активных проверок: " + activeChecks.size() : ""));
+        try {
+            if (processPageCheck(page, pageStepUuid, activeChecks)) {
+                steps.update(pageStepUuid, step -> step.setStatus(Status.PASSED));
+            } else {
+                pageableCheckFailed = true;
+                steps.update(pageStepUuid, step -> step.setStatus(Status.FAILED));
+                if (pageSourceProvider != null) {
+                    String pageSource = pageSourceProvider.apply(page);
+                    steps.attach(pageStepUuid, () -> PageSourceAttachments.write(getLifecycle(), "Page source", pageSource));
+                } else {
+                    PageDiagnostics pageDiagnostics = diagnostics.get();
+                    if (pageDiagnostics != null) {
+                        steps.attach(pageStepUuid, () -> PageSourceAttachments.write(getLifecycle(), "Page source", pageDiagnostics.pageSource));
+                        if (pageDiagnostics.screenshot != null) {
+                            steps.attach(pageStepUuid, () -> screenshotService.write(getLifecycle(), "Screenshot", pageDiagnostics.screenshot));
+                        }
+                    }
+                }
+            }
+        } catch (Throwable throwable) {
+            markBroken(pageStepUuid, throwable);
+            throw throwable;
+        } finally {
+            steps.stop(pageStepUuid);
+        }
+    }
+
     /**
      * @author Achitheus (Yury Yurchenko)
      */
-    private boolean processPageCheck(List<ElementsCheckWithErrorCollector<PAGE_OBJ>> mutableCheckList) {
+    private boolean processPageCheck(PAGE_OBJ page, String pageStepUuid, List<ElementsCheckWithErrorCollector<PAGE_OBJ>> mutableCheckList) {
         boolean pagePassed = true;
         ListIterator<ElementsCheckWithErrorCollector<PAGE_OBJ>> checksIter = mutableCheckList.listIterator();
         while (checksIter.hasNext()) {
             ElementsCheckWithErrorCollector<PAGE_OBJ> check = checksIter.next();
-            ElementsCheckResult elementsCheckResult = CustomAllure.stepWithChangeableStatus("step", () -> {
-                ElementsCheckResult checkResultInner = check.perform(target);
-                getLifecycle().updateStep(step -> step.setName(checkResultInner.toString()));
-
-                if (checkResultInner.isFailed()) {
-                    getLifecycle().updateStep(s -> s
-                            .setStatus(Status.FAILED)
-                            .setStatusDetails(getStatusDetails(checkResultInner.getError().orElse(null)).orElse(null))
-                    );
-                }
-                return checkResultInner;
-            });
+            String checkStepUuid = steps.start(pageStepUuid, "step");
+            ElementsCheckResult elementsCheckResult;
+            try {
+                elementsCheckResult = check.perform(page);
+                StatusDetails statusDetails = elementsCheckResult.isFailed()
+                        ? new StatusDetails().setMessage(elementsCheckResult.getMessage())
+                        : null;
+                steps.update(checkStepUuid, step -> step
+                        .setName(elementsCheckResult.toString())
+                        .setStatus(elementsCheckResult.isFailed() ? Status.FAILED : Status.PASSED)
+                        .setStatusDetails(statusDetails)
+                );
+            } catch (Throwable throwable) {
+                markBroken(checkStepUuid, throwable);
+                throw throwable;
+            } finally {
+                steps.stop(checkStepUuid);
+            }
             if (elementsCheckResult.isFailed()) {
                 pagePassed = false;
+                if (errorAggregator == null) {
+                    errorAggregator = new ErrorAggregator(maxReportedErrors);
+                }
+                errorAggregator.add(check.getName(), elementsCheckResult);
                 if (lazyMode) {
                     checksIter.remove();
                 }
@@ -179,4 +507,101 @@ public class PageableChecker<PAGE_OBJ extends Pageable> {
         return pagePassed;
     }
 
+    /**
+     * Снимает page source и (если включены скриншоты) скриншот текущей страницы целевого объекта.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private PageDiagnostics captureDiagnostics() {
+        return captureDiagnostics(driver);
+    }
+
+    /**
+     * То же, что и {@link #captureDiagnostics(WebDriver)}, но ошибка снятия логгируется и не прерывает проверку.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private PageDiagnostics captureDiagnosticsSafely(WebDriver driver) {
+        try {
+            return captureDiagnostics(driver);
+        } catch (WebDriverException e) {
+            logger.warn("Failed to capture page diagnostics in the loader session: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Снимает page source и (если включены скриншоты) скриншот страницы, открытой в сеансе веб-драйвера.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private PageDiagnostics captureDiagnostics(WebDriver driver) {
+        byte[] screenshot = screenshotService != null ? screenshotService.capture(driver, screenshotRegion) : null;
+        return new PageDiagnostics(capturePageSource(driver), screenshot);
+    }
+
+    /**
+     * Возвращает HTML области страницы, заданной {@code pageSourceScope}, либо, если область не задана
+     * или не найдена, page source всей страницы.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private String capturePageSource(WebDriver driver) {
+        if (pageSourceScope != null) {
+            Object scopeHtml = ((JavascriptExecutor) driver).executeScript(
+                    "var scope = document.querySelector(arguments[0]); return scope ? scope.outerHTML : null;", pageSourceScope);
+            if (scopeHtml != null) {
+                return (String) scopeHtml;
+            }
+        }
+        return driver.getPageSource();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void markBroken(String stepUuid, Throwable throwable) {
+        steps.update(stepUuid, step -> step
+                .setStatus(getStatus(throwable).orElse(Status.BROKEN))
+                .setStatusDetails(getStatusDetails(throwable).orElse(null)));
+    }
+
+    /**
+     * Объект страницы вместе с поставщиком ее page source и скриншота и загрузчиком, сеанс которого
+     * закреплен за страницей до окончания ее проверки ({@code null}, если не закреплен).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final class LoadedPage<PAGE_OBJ> {
+        private final PAGE_OBJ page;
+        private final Supplier<PageDiagnostics> diagnostics;
+        private final PageLoader<PAGE_OBJ> reservedLoader;
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        private LoadedPage(PAGE_OBJ page, Supplier<PageDiagnostics> diagnostics, PageLoader<PAGE_OBJ> reservedLoader) {
+            this.page = page;
+            this.diagnostics = diagnostics;
+            this.reservedLoader = reservedLoader;
+        }
+    }
+
+    /**
+     * Page source и скриншот (может быть {@code null}) страницы для отчета о проваленных чеках.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final class PageDiagnostics {
+        private final String pageSource;
+        private final byte[] screenshot;
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        private PageDiagnostics(String pageSource, byte[] screenshot) {
+            this.pageSource = pageSource;
+            this.screenshot = screenshot;
+        }
+    }
 }
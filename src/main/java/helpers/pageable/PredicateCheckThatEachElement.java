@@ -47,7 +47,7 @@ public class PredicateCheckThatEachElement<PAGE_OBJ, E> extends ElementsCheck<PA
                 .filter(condition.negate())
                 .collect(Collectors.toList());
         ElementsCheckResult elementsCheckResult = new ElementsCheckResult(passedElementDescription, failedElementList, checkNumber, elementCollection.size());
-        elementsCheckResult.getError().ifPresent(collectedErrors::add);
+        collect(elementsCheckResult);
         return elementsCheckResult;
     }
 }
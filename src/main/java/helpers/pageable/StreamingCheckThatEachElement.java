@@ -0,0 +1,177 @@
+package helpers.pageable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Класс для потоковой проверки элементов на соответствие <i>предикату</i> {@code condition}. В отличие от
+ * {@link PredicateCheckThatEachElement}, элементы не собираются в коллекцию: они читаются из {@code Stream}
+ * по одному, в памяти хранится лишь ограниченная выборка проваливших проверку элементов и счетчики.
+ * Полный список проваливших проверку элементов (при необходимости) дописывается в файл, см. {@link #spillTo(Path)}.
+ * Файл остается открытым на протяжении всей постраничной проверки и закрывается по ее завершении ({@link #close()}).
+ * Рекомендуется использовать только в контексте класса {@link PageableChecker}.
+ *
+ * @param <PAGE_OBJ> объект, предоставляющий набор проверяемых элементов
+ * @param <E>        проверяемый элемент
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class StreamingCheckThatEachElement<PAGE_OBJ, E> extends ElementsCheck<PAGE_OBJ> {
+    public static final Logger logger = LoggerFactory.getLogger(StreamingCheckThatEachElement.class);
+    private final Predicate<E> condition;
+    private final Function<PAGE_OBJ, Stream<E>> elementsProvider;
+    private int sampleSize = 10;
+    private Path spillFile;
+    private BufferedWriter spillWriter;
+    private long totalCheckedElementCount;
+    private long totalFailedElementCount;
+
+    /**
+     * Создает новый объект проверки.
+     *
+     * @param continueConstructorName продолжение фразы "Убедиться, что каждый элемент...", т.е.
+     *                                словесное описание элемента, соответствующего условию {@code condition}.
+     *                                Не начинать с отрицания ("не превышает величину X" - плохо).
+     *                                Примеры: "содержит подстроку фыва", "соответствует условию: actualPrice > minPrice" и т.п.
+     * @param elementsProvider        функция, предоставляющая поток проверяемых объектов. Поток закрывается после проверки.
+     * @param condition               условие, которым проверяется каждый элемент. Элемент прошел проверку, если данное условие вернуло {@code true}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public StreamingCheckThatEachElement(String continueConstructorName, Function<PAGE_OBJ, Stream<E>> elementsProvider, Predicate<E> condition) {
+        super(continueConstructorName);
+        this.condition = condition;
+        this.elementsProvider = elementsProvider;
+    }
+
+    /**
+     * Устанавливает максимальное количество проваливших проверку элементов, сохраняемых в результате проверки страницы
+     * (и попадающих в сообщение ошибки). По дефолту равно 10.
+     *
+     * @param sampleSize размер выборки проваливших проверку элементов.
+     * @return текущий объект проверки ({@code this}).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public StreamingCheckThatEachElement<PAGE_OBJ, E> setSampleSize(int sampleSize) {
+        this.sampleSize = sampleSize;
+        return this;
+    }
+
+    /**
+     * Включает запись всех проваливших проверку элементов в файл: по строке на элемент в формате
+     * {@code <номер страницы>\t<элемент>}, где номер страницы - порядковый номер вызова {@code perform()}, как и в
+     * сообщениях ошибок чеков. При обходе {@link PageableChecker} чек выполняется на каждой странице начиная с первой,
+     * поэтому номер совпадает с номером страницы. Файл дописывается, а не перезаписывается, и сбрасывается на диск
+     * после проверки каждой страницы.
+     *
+     * @param spillFile файл для записи проваливших проверку элементов.
+     * @return текущий объект проверки ({@code this}).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public StreamingCheckThatEachElement<PAGE_OBJ, E> spillTo(Path spillFile) {
+        this.spillFile = spillFile;
+        return this;
+    }
+
+    /**
+     * Возвращает количество элементов, проверенных за все вызовы {@code perform()}.
+     *
+     * @return количество проверенных элементов.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public long getTotalCheckedElementCount() {
+        return totalCheckedElementCount;
+    }
+
+    /**
+     * Возвращает количество элементов, проваливших проверку за все вызовы {@code perform()}.
+     *
+     * @return количество проваливших проверку элементов.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public long getTotalFailedElementCount() {
+        return totalFailedElementCount;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    protected ElementsCheckResult performWithoutNumberIncrement(PAGE_OBJ target) {
+        List<E> failedElementSamples = new ArrayList<>();
+        int failedElementCount = 0;
+        int checkedElementCount = 0;
+        try (Stream<E> elements = elementsProvider.apply(target)) {
+            Iterator<E> iterator = elements.iterator();
+            while (iterator.hasNext()) {
+                E element = iterator.next();
+                checkedElementCount++;
+                if (condition.test(element)) {
+                    continue;
+                }
+                failedElementCount++;
+                if (failedElementSamples.size() < sampleSize) {
+                    failedElementSamples.add(element);
+                }
+                if (spillFile != null) {
+                    if (spillWriter == null) {
+                        spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    }
+                    spillWriter.write(checkNumber + "\t" + element);
+                    spillWriter.newLine();
+                }
+            }
+            if (spillWriter != null) {
+                spillWriter.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        totalCheckedElementCount += checkedElementCount;
+        totalFailedElementCount += failedElementCount;
+        ElementsCheckResult elementsCheckResult = new ElementsCheckResult(passedElementDescription, failedElementSamples,
+                failedElementCount, checkNumber, checkedElementCount, spillFile);
+        collect(elementsCheckResult);
+        return elementsCheckResult;
+    }
+
+    /**
+     * Закрывает файл проваливших проверку элементов, если он открыт. Ошибка закрытия логгируется,
+     * а не выбрасывается, чтобы не скрыть результат проверки.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public void close() {
+        BufferedWriter writer = spillWriter;
+        spillWriter = null;
+        closeQuietly(writer);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void closeQuietly(BufferedWriter writer) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close spill file {}", spillFile, e);
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package helpers.properties;
 
+import helpers.driver.ResourcePolicy;
+import helpers.replay.ReplayMode;
+import pages.ru.yandex.market.CategoryGoods.FilterMode;
+import pages.ru.yandex.market.CategoryGoods.LoadDetection;
 import org.aeonbits.owner.Accessible;
 import org.aeonbits.owner.Config;
+import org.aeonbits.owner.Mutable;
+
+import java.util.List;
 
 @Config.LoadPolicy(Config.LoadType.MERGE)
 @Config.Sources("file:target/test-classes/test.properties")
-public interface TestProperties extends Accessible {
+public interface TestProperties extends Accessible, Mutable {
     @Key("yandex.url")
     String yandexUrl();
 
@@ -32,4 +39,61 @@ public interface TestProperties extends Accessible {
 
     @Key("headless")
     boolean headless();
+
+    @Key("pageable.sessions")
+    int pageableSessions();
+
+    @Key("pageable.browserless")
+    boolean pageableBrowserless();
+
+    @Key("pageable.prefetch.depth")
+    int pageablePrefetchDepth();
+
+    @Key("pageable.spill.dir")
+    String pageableSpillDir();
+
+    @Key("driver.pool.size")
+    int driverPoolSize();
+
+    @Key("user.agent.via.cdp")
+    boolean userAgentViaCdp();
+
+    @Key("test.concurrency")
+    int testConcurrency();
+
+    @Key("driver.metrics")
+    boolean driverMetrics();
+
+    @Key("screenshot.budget.mb")
+    int screenshotBudgetMb();
+
+    @Key("screenshot.max.width")
+    int screenshotMaxWidth();
+
+    @Key("screenshot.jpeg.quality")
+    float screenshotJpegQuality();
+
+    @Key("filter.mode")
+    FilterMode filterMode();
+
+    @Key("filter.cache.file")
+    String filterCacheFile();
+
+    @Key("goods.load.detection")
+    LoadDetection goodsLoadDetection();
+
+    @Key("resource.policy")
+    ResourcePolicy resourcePolicy();
+
+    @Key("resource.blocked.urls")
+    List<String> resourceBlockedUrls();
+
+    @Key("resource.traffic.report")
+    boolean resourceTrafficReport();
+
+    @Key("replay.mode")
+    ReplayMode replayMode();
+
+    @Key("replay.dir")
+    String replayDir();
 }
@@ -0,0 +1,21 @@
+package helpers.replay;
+
+/**
+ * Режимы записи/воспроизведения ответов сайта.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public enum ReplayMode {
+    /**
+     * Тесты работают с живым сайтом, ответы не записываются.
+     */
+    OFF,
+    /**
+     * Тесты работают с живым сайтом, HTML и JSON ответы записываются в хранилище.
+     */
+    RECORD,
+    /**
+     * Тесты работают с локальным сервером, отдающим записанные ответы, сеть не используется.
+     */
+    REPLAY
+}
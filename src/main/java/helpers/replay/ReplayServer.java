@@ -0,0 +1,159 @@
+package helpers.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Локальный HTTP-сервер, отдающий ответы из {@link ResponseStore} вместо живого сайта.
+ * Исходный url {@code https://host/path?query} отображается на {@code http://127.0.0.1:port/host/path?query},
+ * абсолютные ссылки записанных хостов в HTML и JSON ответах переписываются по тому же правилу.
+ * Запросы по относительным путям, не содержащим хост (например, запросы данных выдачи), относятся
+ * к хосту страницы из заголовка {@code Referer}. Ответ на запрос с телом ищется с учетом тела запроса
+ * (см. {@link ResponseStore#key(String, String, byte[])}).
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class ReplayServer implements AutoCloseable {
+    public static final Logger logger = LoggerFactory.getLogger(ReplayServer.class);
+    private static final Pattern RECORDED_URL = Pattern.compile("^\\S+ https?://([^/?#]+).*");
+
+    private final ResponseStore store;
+    private final HttpServer server;
+    private final Set<String> hosts;
+    private final Pattern absoluteLinks;
+
+    /**
+     * Запускает сервер на свободном порту локального интерфейса.
+     *
+     * @param store хранилище записанных ответов.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public ReplayServer(ResponseStore store) {
+        this.store = store;
+        this.hosts = store.keys().stream()
+                .map(RECORDED_URL::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> matcher.group(1))
+                .collect(Collectors.toSet());
+        this.absoluteLinks = Pattern.compile("(?:https?:)?//(" + hosts.stream()
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|")) + ")(?![\\w.-])");
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Replay server started at {} ({} recorded responses)", baseUrl(), store.keys().size());
+    }
+
+    /**
+     * Возвращает адрес сервера.
+     *
+     * @return адрес вида {@code http://127.0.0.1:port}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Преобразует исходный url сайта в url, обслуживаемый сервером.
+     *
+     * @param originalUrl исходный абсолютный url.
+     * @return url на локальном сервере.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public String urlFor(String originalUrl) {
+        URI uri = URI.create(originalUrl);
+        return baseUrl() + "/" + uri.getRawAuthority() + (uri.getRawPath().isEmpty() ? "/" : uri.getRawPath())
+               + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Optional<String> originalUrl = originalUrl(exchange);
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+            Optional<ResponseStore.RecordedResponse> response = originalUrl
+                    .flatMap(url -> store.get(ResponseStore.key(exchange.getRequestMethod(), url, requestBody)));
+            if (response.isEmpty()) {
+                logger.warn("No recorded response for {} {}", exchange.getRequestMethod(), originalUrl.orElse(exchange.getRequestURI().toString()));
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] body = store.readBody(response.get());
+            String contentType = response.get().contentType;
+            if (contentType.startsWith("text/html") || contentType.contains("json")) {
+                body = rewriteLinks(new String(body, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(response.get().status, body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Восстанавливает исходный url запроса по пути на локальном сервере.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private Optional<String> originalUrl(HttpExchange exchange) {
+        String pathAndQuery = exchange.getRequestURI().getRawPath()
+                              + (exchange.getRequestURI().getRawQuery() == null ? "" : "?" + exchange.getRequestURI().getRawQuery());
+        Optional<String> host = firstSegment(exchange.getRequestURI().getRawPath());
+        if (host.isPresent() && hosts.contains(host.get())) {
+            return Optional.of("https:/" + pathAndQuery);
+        }
+        return Optional.ofNullable(exchange.getRequestHeaders().getFirst("Referer"))
+                .map(referer -> URI.create(referer).getRawPath())
+                .flatMap(ReplayServer::firstSegment)
+                .filter(hosts::contains)
+                .map(refererHost -> "https://" + refererHost + pathAndQuery);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static Optional<String> firstSegment(String path) {
+        String[] segments = path.split("/");
+        return segments.length > 1 ? Optional.of(segments[1]) : Optional.empty();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private String rewriteLinks(String body) {
+        return hosts.isEmpty() ? body : absoluteLinks.matcher(body).replaceAll(Matcher.quoteReplacement(baseUrl()) + "/$1");
+    }
+
+    /**
+     * Останавливает сервер.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
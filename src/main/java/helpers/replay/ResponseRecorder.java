@@ -0,0 +1,60 @@
+package helpers.replay;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+/**
+ * Запись ответов сайта в {@link ResponseStore} средствами Chrome DevTools Protocol. Записываются
+ * только HTML и JSON ответы (страницы категорий, фильтров, {@code page=N} и запросы данных выдачи).
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class ResponseRecorder {
+
+    /**
+     * Начинает запись ответов, получаемых браузером. Запись продолжается до закрытия возвращенного перехватчика
+     * либо завершения сеанса браузера.
+     *
+     * @param driver веб-драйвер, поддерживающий DevTools (например, {@code ChromeDriver} без обертки).
+     * @param store  хранилище ответов.
+     * @return перехватчик сетевых запросов.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static NetworkInterceptor record(WebDriver driver, ResponseStore store) {
+        return new NetworkInterceptor(driver, recordingFilter(store));
+    }
+
+    /**
+     * Создает фильтр, сохраняющий в хранилище HTML и JSON ответы на проходящие через него запросы.
+     * Ключ ответа учитывает тело запроса (см. {@link ResponseStore#key(String, String, byte[])}).
+     *
+     * @param store хранилище ответов.
+     * @return фильтр запросов.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static Filter recordingFilter(ResponseStore store) {
+        return next -> request -> {
+            byte[] requestBody = Contents.bytes(request.getContent());
+            request.setContent(Contents.bytes(requestBody));
+            HttpResponse response = next.execute(request);
+            String contentType = response.getHeader("Content-Type");
+            if (isRecordable(contentType)) {
+                byte[] body = Contents.bytes(response.getContent());
+                store.put(ResponseStore.key(request.getMethod().toString(), request.getUri(), requestBody),
+                        response.getStatus(), contentType, body);
+                response.setContent(Contents.bytes(body));
+            }
+            return response;
+        };
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static boolean isRecordable(String contentType) {
+        return contentType != null && (contentType.startsWith("text/html") || contentType.contains("json"));
+    }
+}
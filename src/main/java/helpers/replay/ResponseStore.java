@@ -0,0 +1,254 @@
+package helpers.replay;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Файловое хранилище записанных ответов сайта. Каждый ответ хранится в отдельном файле,
+ * а соответствие запросов файлам - в отсортированном {@code index.json}. Ключ ответа - метод и полный url запроса,
+ * а для запросов с телом (например, {@code POST}) еще и хеш тела запроса.
+ * <p>
+ * Во время записи новые ответы дописываются в журнал {@code index.jsonl} по строке на ответ, а {@code index.json}
+ * пересобирается один раз в {@link #close()}. Если хранилище не было закрыто (например, JVM завершилась аварийно),
+ * записанные ответы восстанавливаются из журнала при следующем открытии.
+ * Методы класса потокобезопасны.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class ResponseStore implements AutoCloseable {
+    private static final String INDEX_FILE = "index.json";
+    private static final String JOURNAL_FILE = "index.jsonl";
+    private static final Json JSON = new Json();
+
+    private final Path directory;
+    private final Map<String, RecordedResponse> responses = new ConcurrentHashMap<>();
+
+    /**
+     * Открывает хранилище в указанной директории, загружая ранее записанные ответы, если они есть.
+     *
+     * @param directory директория хранилища.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @SuppressWarnings("unchecked")
+    public ResponseStore(Path directory) {
+        this.directory = directory;
+        Path index = directory.resolve(INDEX_FILE);
+        Path journal = directory.resolve(JOURNAL_FILE);
+        try {
+            if (Files.exists(index)) {
+                List<Map<String, Object>> entries = JSON.toType(Files.readString(index), List.class);
+                entries.forEach(this::load);
+            }
+            if (Files.exists(journal)) {
+                for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+                    if (!line.isBlank()) {
+                        load(JSON.toType(line, Map.class));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Формирует ключ ответа на запрос без тела.
+     *
+     * @param method метод запроса.
+     * @param url    полный url запроса.
+     * @return ключ ответа.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static String key(String method, String url) {
+        return key(method, url, null);
+    }
+
+    /**
+     * Формирует ключ ответа. Для запросов {@code GET} и {@code HEAD}, а также запросов с пустым телом ключ состоит
+     * из метода и url, для остальных к нему добавляется хеш тела запроса, чтобы, например, {@code POST} запросы
+     * данных выдачи с разными параметрами в теле не перезаписывали ответы друг друга.
+     *
+     * @param method      метод запроса.
+     * @param url         полный url запроса.
+     * @param requestBody тело запроса или {@code null}.
+     * @return ключ ответа.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static String key(String method, String url, byte[] requestBody) {
+        String upperCaseMethod = method.toUpperCase();
+        String key = upperCaseMethod + " " + url;
+        if (requestBody == null || requestBody.length == 0 || upperCaseMethod.equals("GET") || upperCaseMethod.equals("HEAD")) {
+            return key;
+        }
+        return key + " #" + sha1(requestBody);
+    }
+
+    /**
+     * Сохраняет ответ, перезаписывая ранее записанный ответ на тот же запрос.
+     *
+     * @param key         ключ ответа (см. {@link #key(String, String)}).
+     * @param status      код ответа.
+     * @param contentType значение заголовка {@code Content-Type}.
+     * @param body        тело ответа.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void put(String key, int status, String contentType, byte[] body) {
+        String file = sha1(key.getBytes(StandardCharsets.UTF_8)) + ".bin";
+        RecordedResponse response = new RecordedResponse(status, contentType, file);
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve(file), body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        responses.put(key, response);
+        appendToJournal(key, response);
+    }
+
+    /**
+     * Ищет записанный ответ.
+     *
+     * @param key ключ ответа (см. {@link #key(String, String)}).
+     * @return записанный ответ или {@code Optional.empty()}, если ответ на такой запрос не записан.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public Optional<RecordedResponse> get(String key) {
+        return Optional.ofNullable(responses.get(key));
+    }
+
+    /**
+     * Читает тело записанного ответа.
+     *
+     * @param response записанный ответ.
+     * @return тело ответа.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public byte[] readBody(RecordedResponse response) {
+        try {
+            return Files.readAllBytes(directory.resolve(response.file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Возвращает ключи всех записанных ответов.
+     *
+     * @return ключи записанных ответов.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public List<String> keys() {
+        return List.copyOf(responses.keySet());
+    }
+
+    /**
+     * Записывает отсортированный {@code index.json} со всеми ответами и удаляет журнал. Если с момента открытия
+     * хранилища ответы не записывались, ничего не делает.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public synchronized void close() {
+        Path journal = directory.resolve(JOURNAL_FILE);
+        if (!Files.exists(journal)) {
+            return;
+        }
+        List<Map<String, Object>> entries = responses.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> toJson(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        try {
+            Files.writeString(directory.resolve(INDEX_FILE), JSON.toJson(entries));
+            Files.delete(journal);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private synchronized void appendToJournal(String key, RecordedResponse response) {
+        StringBuilder line = new StringBuilder();
+        try (JsonOutput output = JSON.newOutput(line)) {
+            output.setPrettyPrint(false).write(toJson(key, response));
+        }
+        line.append(System.lineSeparator());
+        try {
+            Files.writeString(directory.resolve(JOURNAL_FILE), line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void load(Map<String, Object> entry) {
+        responses.put((String) entry.get("key"), new RecordedResponse(
+                ((Number) entry.get("status")).intValue(),
+                (String) entry.get("contentType"),
+                (String) entry.get("file")));
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static Map<String, Object> toJson(String key, RecordedResponse response) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("key", key);
+        json.put("status", response.status);
+        json.put("contentType", response.contentType);
+        json.put("file", response.file);
+        return json;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static String sha1(byte[] value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value);
+            return String.format("%040x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Записанный ответ: код, тип содержимого и имя файла с телом ответа.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static class RecordedResponse {
+        public final int status;
+        public final String contentType;
+        private final String file;
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        RecordedResponse(int status, String contentType, String file) {
+            this.status = status;
+            this.contentType = contentType;
+            this.file = file;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package pages.ru.ya;
 
+import helpers.locators.LocatorTemplate;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -7,6 +8,9 @@ import org.openqa.selenium.WebElement;
 
 import java.util.Set;
 
+import static helpers.locators.Locators.css;
+import static helpers.locators.Locators.xpathTemplate;
+
 /**
  * Класс для взаимодействия с главной страницей яндекса.
  *
@@ -14,6 +18,10 @@ import java.util.Set;
  */
 public class YaMain {
 
+    private static final By SEARCH_FIELD = css("#text");
+    private static final LocatorTemplate SERVICE_BUTTON = xpathTemplate(
+            "//ul[@class='services-suggest__list']//a[.//div[text()=%s]]");
+
     private final WebDriver driver;
     /**
      * Поле поиска.
@@ -30,7 +38,7 @@ public class YaMain {
      */
     public YaMain(WebDriver driver) {
         this.driver = driver;
-        searchField = driver.findElement(By.id("text"));
+        searchField = driver.findElement(SEARCH_FIELD);
     }
 
     /**
@@ -42,8 +50,7 @@ public class YaMain {
     @Step("Переход в сервис \"{serviceTitle}\"")
     public void goToService(String serviceTitle) {
         searchField.click();
-        WebElement serviceButton = driver.findElement(By.xpath(
-                "//ul[@class='services-suggest__list']//a[.//div[text()='" + serviceTitle + "']]"));
+        WebElement serviceButton = driver.findElement(SERVICE_BUTTON.with(serviceTitle));
         serviceButton.click();
         Set<String> windowHandles = driver.getWindowHandles();
         String currentWindow = driver.getWindowHandle();
@@ -1,40 +1,53 @@
 package pages.ru.yandex.market;
 
 import helpers.NamedRange;
+import helpers.locators.LocatorTemplate;
+import helpers.pageable.PageLoader;
 import helpers.pageable.Pageable;
 import helpers.pageable.PageableChecker;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
 import org.openqa.selenium.InvalidArgumentException;
 import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
 import java.time.Duration;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static helpers.CustomWait.findElementSoftly;
+import static helpers.DomExtractor.extractTexts;
+import static helpers.locators.Locators.css;
+import static helpers.locators.Locators.xpathTemplate;
 import static org.openqa.selenium.support.ui.ExpectedConditions.invisibilityOf;
 
 /**
  * Класс дря работы со страницей товаров категории Маркета.
- * В классе производится поиск элементов, чье отсутствие - норма, поэтому временно
- * изменяется значение неявного ожидания на меньшее значение.
+ * В классе производится поиск элементов, чье отсутствие - норма, поэтому такие элементы
+ * ищутся "мягко" с собственным коротким ожиданием (см. {@link helpers.CustomWait}).
  * {@code IMPLICITLY_WAIT} нужно для возвращения исходного значения
- * неявного ожидания.
+ * неявного ожидания, если при мягком поиске его пришлось изменить.
  *
  * @author Achitheus (Yury Yurchenko)
  */
-public class CategoryGoods extends MarketHeader implements Pageable {
+public class CategoryGoods extends MarketHeader implements Pageable, ProductListing {
     public static final Logger logger = LoggerFactory.getLogger(CategoryGoods.class);
 
     /**
@@ -50,19 +63,256 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      *
      * @author Achitheus (Yury Yurchenko)
      */
-    protected final String selectorProducts = "//main[@id='searchResults']//*[@data-autotest-id='product-snippet']";
+    protected static final String selectorProducts = "//main[@id='searchResults']//*[@data-autotest-id='product-snippet']";
     /**
      * Селектор наименований товаров.
      *
      * @author Achitheus (Yury Yurchenko)
      */
-    protected final String selectorProductNames = selectorProducts + "//*[@data-auto='snippet-title-header']";
+    protected static final String selectorProductNames = selectorProducts + "//*[@data-auto='snippet-title-header']";
     /**
      * Селектор цен товаров.
      *
      * @author Achitheus (Yury Yurchenko)
      */
-    protected final String selectorProductPrices = selectorProducts + "//*[@data-auto='price-value' or @data-auto='snippet-price-current']";
+    protected static final String selectorProductPrices = selectorProducts + "//*[@data-auto='price-value' or @data-auto='snippet-price-current']";
+    /**
+     * Селектор ссылок на карточки товаров (атрибут {@code href} ссылки, содержащей наименование товара).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    protected static final String selectorProductLinks = selectorProducts + "//a[.//*[@data-auto='snippet-title-header']]/@href";
+    /**
+     * Селектор рейтингов товаров.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    protected static final String selectorProductRatings = selectorProducts + "//*[@data-auto='rating-badge-value']";
+    /**
+     * Наименования товаров (CSS эквивалент {@link #selectorProductNames}).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final By PRODUCT_NAMES = css("main#searchResults [data-autotest-id='product-snippet'] [data-auto='snippet-title-header']");
+    /**
+     * Блок юридической информации, расположенный под товарами.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final By SEARCH_LEGAL_INFO = css("[data-grabber='SearchLegalInfo']");
+    /**
+     * Кнопка перехода на предыдущую страницу выдачи.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final By PREVIOUS_PAGE_BUTTON = css("div[data-apiary-widget-name='@marketfront/SearchPager'] div[class='cia-cs'][data-baobab-name='prev']");
+    /**
+     * Кнопка перехода на следующую страницу выдачи.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final By NEXT_PAGE_BUTTON = css("div[data-apiary-widget-name='@marketfront/SearchPager'] div[data-baobab-name='next'] span");
+    /**
+     * Индикатор загрузки выдачи.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final By SPINNER = css("[data-grabber='SearchSerp'] [data-auto='spinner']");
+    /**
+     * Поле минимального значения фильтра-диапазона (внутри фильтра).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final By RANGE_MIN_FIELD = css("input[id*='min']");
+    /**
+     * Поле максимального значения фильтра-диапазона (внутри фильтра).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final By RANGE_MAX_FIELD = css("input[id*='max']");
+    /**
+     * Чекбоксы фильтра-перечисления (внутри фильтра).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final By FILTER_OPTIONS = css("[data-zone-name='FilterValue'] label");
+    /**
+     * Поле поиска фильтра-перечисления (внутри фильтра).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final By FILTER_SEARCH_FIELD = css("input[type='text']");
+    /**
+     * Список фильтра с асинхронным скроллом (внутри фильтра).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final By VIRTUOSO_SCROLLER = css("[data-virtuoso-scroller='true']");
+    /**
+     * Кнопка "показать всё" фильтра (внутри фильтра).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final By FILTER_EXPAND_BUTTON = css("button");
+    /**
+     * Фильтр по тексту в названии. Условие по тексту CSS не выражается, поэтому XPath.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final LocatorTemplate FILTER_BY_TITLE = xpathTemplate("//*[@id='searchFilters']//fieldset[.//legend[contains(., %s)]]");
+    /**
+     * Период "тишины" выдачи, после которого товары считаются загруженными.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final Duration SETTLE_QUIET_PERIOD = Duration.ofMillis(300);
+    /**
+     * Максимальное время ожидания загрузки товаров. Должно быть меньше таймаута скриптов
+     * веб-драйвера (по умолчанию 30 секунд).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final Duration SETTLE_TIMEOUT = Duration.ofSeconds(20);
+    /**
+     * Регулярное выражение (регистро-независимое) пути и параметров запросов выдачи товаров. Незавершенные запросы
+     * учитываются при ожидании загрузки товаров, только если они отправлены на домен страницы и соответствуют
+     * выражению, поэтому запросы аналитики и long polling ожидание не задерживают.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final String GOODS_REQUEST_PATTERN = "search|serp";
+    /**
+     * Скрипт установки трекера загрузки товаров. Аргумент: {@link #GOODS_REQUEST_PATTERN}. Трекер устанавливается
+     * один раз на документ и сохраняется в {@code window}: {@code MutationObserver} отмечает время последнего изменения
+     * выдачи, а обертки {@code fetch}/{@code XMLHttpRequest} считают незавершенные запросы выдачи.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final String INSTALL_GOODS_LOAD_TRACKER_SCRIPT =
+            "if (!window.__goodsLoadTracker) {" +
+            "  var goodsRequest = new RegExp(arguments[0], 'i');" +
+            "  var tracker = window.__goodsLoadTracker = {lastChange: Date.now(), pending: 0};" +
+            "  var touch = function () { tracker.lastChange = Date.now(); };" +
+            "  var tracked = function (url) {" +
+            "    try {" +
+            "      var parsed = new URL(url, location.href);" +
+            "      return parsed.origin === location.origin && goodsRequest.test(parsed.pathname + parsed.search);" +
+            "    } catch (e) { return false; }" +
+            "  };" +
+            "  var serp = document.querySelector(\"[data-grabber='SearchSerp']\") || document.body;" +
+            "  new MutationObserver(touch).observe(serp, {childList: true, subtree: true});" +
+            "  if (window.fetch) {" +
+            "    var originalFetch = window.fetch;" +
+            "    window.fetch = function (input) {" +
+            "      if (!tracked(input instanceof Request ? input.url : String(input))) return originalFetch.apply(this, arguments);" +
+            "      tracker.pending++;" +
+            "      touch();" +
+            "      return originalFetch.apply(this, arguments).finally(function () { tracker.pending--; touch(); });" +
+            "    };" +
+            "  }" +
+            "  var originalOpen = XMLHttpRequest.prototype.open;" +
+            "  XMLHttpRequest.prototype.open = function (method, url) {" +
+            "    this.__goodsRequest = tracked(url);" +
+            "    return originalOpen.apply(this, arguments);" +
+            "  };" +
+            "  var originalSend = XMLHttpRequest.prototype.send;" +
+            "  XMLHttpRequest.prototype.send = function () {" +
+            "    if (this.__goodsRequest) {" +
+            "      tracker.pending++;" +
+            "      touch();" +
+            "      this.addEventListener('loadend', function () { tracker.pending--; touch(); });" +
+            "    }" +
+            "    return originalSend.apply(this, arguments);" +
+            "  };" +
+            "}";
+    /**
+     * Асинхронный скрипт ожидания загрузки товаров. Аргументы: {@link #GOODS_REQUEST_PATTERN}, период тишины
+     * и максимальное время ожидания (в миллисекундах). Если трекер загрузки еще не установлен (например, после
+     * перехода по url, который веб-драйвер дожидается сам), устанавливает его. Возвращает {@code true}, если выдача
+     * успокоилась, и {@code false} по истечении времени ожидания.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final String WAIT_FOR_SETTLED_GOODS_SCRIPT = INSTALL_GOODS_LOAD_TRACKER_SCRIPT +
+            "var quietPeriod = arguments[1], timeout = arguments[2], done = arguments[arguments.length - 1];" +
+            "var settling = window.__goodsLoadTracker;" +
+            "var start = Date.now();" +
+            "(function poll() {" +
+            "  var now = Date.now();" +
+            "  var spinner = document.querySelector(\"[data-grabber='SearchSerp'] [data-auto='spinner']\");" +
+            "  if (!spinner && settling.pending <= 0 && now - settling.lastChange >= quietPeriod && now - start >= quietPeriod) {" +
+            "    done(true);" +
+            "  } else if (now - start >= timeout) {" +
+            "    done(false);" +
+            "  } else {" +
+            "    setTimeout(poll, 50);" +
+            "  }" +
+            "})();";
+    /**
+     * Максимальное время прокрутки асинхронного списка фильтра скриптом {@link #HARVEST_VIRTUOSO_OPTIONS_SCRIPT}.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final Duration HARVEST_TIMEOUT = Duration.ofSeconds(10);
+    /**
+     * Асинхронный скрипт обработки чекбоксов асинхронно прокручиваемого списка фильтра за одно обращение к браузеру.
+     * Аргументы: фильтр, названия чекбоксов, требуемое состояние чекбоксов, максимальное время прокрутки
+     * (в миллисекундах) и признак только проверки. Прокручивает список сверху вниз, на каждом шаге сверяя отрисованные
+     * чекбоксы со всеми названиями сразу (регистро-независимо) и переключая найденные, если они не в требуемом
+     * состоянии. В режиме проверки чекбоксы не переключаются. Возвращает названия, которые найти не удалось,
+     * а в режиме проверки - также названия чекбоксов не в требуемом состоянии.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final String HARVEST_VIRTUOSO_OPTIONS_SCRIPT =
+            "var filter = arguments[0], targets = arguments[1], mark = arguments[2], timeout = arguments[3];" +
+            "var verifyOnly = arguments[4], done = arguments[arguments.length - 1];" +
+            "var scroller = filter.querySelector(\"[data-virtuoso-scroller='true']\");" +
+            "var pending = {}, mismatched = [], left = 0, start = Date.now();" +
+            "targets.forEach(function (target) { pending[target.toLowerCase()] = target; left++; });" +
+            "var finish = function () {" +
+            "  scroller.scrollTop = 0;" +
+            "  done(Object.keys(pending).map(function (key) { return pending[key]; }).concat(mismatched));" +
+            "};" +
+            "(function step() {" +
+            "  var labels = filter.querySelectorAll(\"[data-zone-name='FilterValue'] label\");" +
+            "  for (var i = 0; i < labels.length && left > 0; i++) {" +
+            "    var key = labels[i].innerText.trim().toLowerCase();" +
+            "    if (Object.prototype.hasOwnProperty.call(pending, key)) {" +
+            "      if ((labels[i].getAttribute('aria-checked') === 'true') !== mark) {" +
+            "        if (verifyOnly) mismatched.push(pending[key]); else labels[i].click();" +
+            "      }" +
+            "      delete pending[key];" +
+            "      left--;" +
+            "    }" +
+            "  }" +
+            "  var atBottom = scroller.scrollTop + scroller.clientHeight >= scroller.scrollHeight - 1;" +
+            "  if (left === 0 || atBottom || Date.now() - start >= timeout) {" +
+            "    finish();" +
+            "  } else {" +
+            "    scroller.scrollTop += Math.max(scroller.clientHeight - 20, 20);" +
+            "    setTimeout(step, 50);" +
+            "  }" +
+            "})();";
+    /**
+     * Способ ожидания загрузки товаров.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private LoadDetection loadDetection = LoadDetection.SPINNER;
+    /**
+     * Способ установки фильтров методом {@link #applyFilters(Map, List)}.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private FilterMode filterMode = FilterMode.CLICK;
+    /**
+     * Снимок данных товаров текущей страницы. Общий для всех чеков, выполняемых на странице,
+     * сбрасывается при любом переходе или изменении набора товаров.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private ProductSnapshot productSnapshot;
 
     /**
      * Создает объект для взаимодействия со страницей категории товаров. Запоминает
@@ -85,6 +335,7 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      * @author Achitheus (Yury Yurchenko)
      */
     public void setRangeFilters(List<NamedRange> filterList) {
+        trackGoodsLoad();
         filterList.forEach(this::setRangeFilterWithoutWait);
         waitUntilGoodsLoaded();
     }
@@ -96,10 +347,142 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      * @author Achitheus (Yury Yurchenko)
      */
     public void setRangeFilter(NamedRange namedRange) {
+        trackGoodsLoad();
         setRangeFilterWithoutWait(namedRange);
         waitUntilGoodsLoaded();
     }
 
+    /**
+     * Устанавливает фильтры перечислений и диапазон-фильтры способом, заданным {@link #setFilterMode(FilterMode)}.
+     * В режимах {@link FilterMode#URL} и {@link FilterMode#URL_VERIFIED} параметры url набора фильтров узнаются
+     * при первой установке через интерфейс (см. {@link FilterUrlCache}), а далее все фильтры устанавливаются
+     * одним переходом по url. При установке через интерфейс поля диапазон-фильтров заполняются лишь после того,
+     * как выдача и панель фильтров перезагрузятся после установки фильтров перечислений.
+     *
+     * @param enumFilters фильтры перечислений в формате: <br> ключ -
+     *                    название фильтра, <br> значение - список названий чекбоксов.
+     * @param rangeFilters диапазон-фильтры товаров.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void applyFilters(Map<String, List<String>> enumFilters, List<NamedRange> rangeFilters) {
+        String unfilteredUrl = driver.getCurrentUrl();
+        String cacheKey = filterCacheKey(unfilteredUrl, enumFilters, rangeFilters);
+        Optional<Map<String, List<String>>> delta = filterMode == FilterMode.CLICK ? Optional.empty() : FilterUrlCache.get(cacheKey);
+        if (delta.isPresent()) {
+            applyFiltersByUrl(FilterUrlCache.apply(unfilteredUrl, delta.get()));
+            if (filterMode == FilterMode.URL || filtersAreApplied(enumFilters, rangeFilters)) {
+                return;
+            }
+            logger.warn("Filter url parameters {} no longer match filters {} {}, relearning", delta.get(), enumFilters, rangeFilters);
+            FilterUrlCache.evict(cacheKey);
+            applyFiltersByUrl(unfilteredUrl);
+        }
+        trackGoodsLoad();
+        for (Map.Entry<String, List<String>> enumFilter : enumFilters.entrySet()) {
+            setEnumFilterWithoutWait(enumFilter.getKey(), enumFilter.getValue(), OptionProcessType.MARK);
+        }
+        if (!enumFilters.isEmpty() && !rangeFilters.isEmpty()) {
+            waitUntilGoodsLoaded();
+            trackGoodsLoad();
+        }
+        rangeFilters.forEach(this::setRangeFilterWithoutWait);
+        waitUntilGoodsLoaded();
+        if (filterMode != FilterMode.CLICK) {
+            FilterUrlCache.learn(cacheKey, unfilteredUrl, driver.getCurrentUrl());
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Step("Установка фильтров переходом по url")
+    private void applyFiltersByUrl(String url) {
+        invalidatePageState();
+        driver.get(url);
+        waitUntilGoodsLoaded();
+    }
+
+    /**
+     * Проверяет, что фильтры установлены: значения полей диапазон-фильтров совпадают с границами диапазонов,
+     * а все чекбоксы из наборов найдены и отмечены. Чекбоксы асинхронно прокручиваемых списков проверяются
+     * скриптом {@link #HARVEST_VIRTUOSO_OPTIONS_SCRIPT} без переключения, а свернутые списки при необходимости
+     * разворачиваются. Не найденный чекбокс считается неотмеченным.
+     *
+     * @return {@code true}, если фильтры установлены, иначе - {@code false}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private boolean filtersAreApplied(Map<String, List<String>> enumFilters, List<NamedRange> rangeFilters) {
+        for (NamedRange range : rangeFilters) {
+            WebElement filter = getFilterByTextInTitle(range.NAME);
+            if (!fieldHoldsNumber(filter.findElement(RANGE_MIN_FIELD), range.DOUBLE_MIN)
+                    || !fieldHoldsNumber(filter.findElement(RANGE_MAX_FIELD), range.DOUBLE_MAX)) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, List<String>> enumFilter : enumFilters.entrySet()) {
+            WebElement filter = getFilterByTextInTitle(enumFilter.getKey());
+            Set<String> mutableTargetSet = new HashSet<>(enumFilter.getValue());
+            if (soCalledDataVirtuosoScrollerIsDetected(filter)) {
+                mutableTargetSet.retainAll(verifyVirtuosoOptions(filter, mutableTargetSet));
+            } else if (!availableCheckBoxesAreMarked(filter, mutableTargetSet)
+                    || !mutableTargetSet.isEmpty() && expand(filter) && !availableCheckBoxesAreMarked(filter, mutableTargetSet)) {
+                return false;
+            }
+            if (!mutableTargetSet.isEmpty()) {
+                logger.debug("Filter \"{}\" options are not found or not marked: {}", enumFilter.getKey(), mutableTargetSet);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Проверяет, что отображаемые чекбоксы фильтра из множества отмечены, и удаляет их из множества.
+     *
+     * @param filter           фильтр с проверяемыми чекбоксами.
+     * @param mutableTargetSet {@code mutable} множество полных регистро-независимых названий чекбоксов,
+     *                         которые нужно проверить.
+     * @return {@code false}, если хотя бы один найденный чекбокс не отмечен, иначе - {@code true}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private boolean availableCheckBoxesAreMarked(WebElement filter, Set<String> mutableTargetSet) {
+        for (WebElement option : filter.findElements(FILTER_OPTIONS)) {
+            String optionTitle = option.getText();
+            Optional<String> target = mutableTargetSet.stream().filter(optionTitle::equalsIgnoreCase).findFirst();
+            if (target.isPresent()) {
+                if (!checkBoxIsMarked(option)) {
+                    return false;
+                }
+                mutableTargetSet.remove(target.get());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private boolean fieldHoldsNumber(WebElement field, double number) {
+        String value = field.getAttribute("value").replaceAll("[^\\d.,]", "").replace(',', '.');
+        return value.matches("\\d+(\\.\\d+)?") && Double.parseDouble(value) == number;
+    }
+
+    /**
+     * Формирует ключ набора фильтров категории: путь url категории, фильтры перечислений
+     * (без учета порядка и регистра) и границы диапазонов.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static String filterCacheKey(String url, Map<String, List<String>> enumFilters, List<NamedRange> rangeFilters) {
+        StringBuilder key = new StringBuilder(URI.create(url).getPath());
+        new TreeMap<>(enumFilters).forEach((title, options) -> key.append('|').append(title).append('=')
+                .append(options.stream().map(option -> option.toLowerCase(Locale.ROOT)).sorted().collect(Collectors.joining(","))));
+        rangeFilters.stream()
+                .sorted(Comparator.comparing(range -> range.NAME))
+                .forEach(range -> key.append('|').append(range.NAME).append('=').append(range.DOUBLE_MIN).append("..").append(range.DOUBLE_MAX));
+        return key.toString();
+    }
+
     /**
      * @author Achitheus (Yury Yurchenko)
      */
@@ -107,12 +490,12 @@ public class CategoryGoods extends MarketHeader implements Pageable {
     private void setRangeFilterWithoutWait(NamedRange namedRange) {
         WebElement filter = getFilterByTextInTitle(namedRange.NAME);
 
-        WebElement minField = filter.findElement(By.xpath(".//input[contains(@id, 'min')]"));
+        WebElement minField = filter.findElement(RANGE_MIN_FIELD);
         minField.click();
         minField.clear();
         minField.sendKeys(namedRange.MIN);
 
-        WebElement maxField = filter.findElement(By.xpath(".//input[contains(@id, 'max')]"));
+        WebElement maxField = filter.findElement(RANGE_MAX_FIELD);
         maxField.click();
         maxField.clear();
         maxField.sendKeys(namedRange.MAX);
@@ -128,7 +511,7 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      */
     public List<WebElement> getClickableProductNames() {
         scrollToBottom();
-        return driver.findElements(By.xpath(selectorProductNames));
+        return driver.findElements(PRODUCT_NAMES);
     }
 
     /**
@@ -140,7 +523,7 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      */
     protected void scrollToBottom() {
         Actions actions = new Actions(driver);
-        actions.moveToElement(driver.findElement(By.xpath("//*[@data-grabber='SearchLegalInfo']")))
+        actions.moveToElement(driver.findElement(SEARCH_LEGAL_INFO))
                 .perform();
     }
 
@@ -152,14 +535,25 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      */
     @Step("Переход на стр. {pageNumber}")
     public void toPage(int pageNumber) {
-        String currentUrl = driver.getCurrentUrl();
-        String targetPageUrl;
-        if (currentUrl.contains("page=")) {
-            targetPageUrl = currentUrl.replaceFirst("page=\\d+", "page=" + pageNumber);
+        String targetPageUrl = pageUrl(driver.getCurrentUrl(), pageNumber);
+        invalidatePageState();
+        driver.get(targetPageUrl);
+    }
+
+    /**
+     * Формирует url страницы товаров с указанным номером на основе url любой страницы выдачи.
+     *
+     * @param url        url страницы выдачи (с установленными фильтрами).
+     * @param pageNumber номер страницы.
+     * @return url страницы с указанным номером.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static String pageUrl(String url, int pageNumber) {
+        if (url.contains("page=")) {
+            return url.replaceFirst("page=\\d+", "page=" + pageNumber);
         } else {
-            targetPageUrl = currentUrl + "&page=" + pageNumber;
+            return url + "&page=" + pageNumber;
         }
-        driver.get(targetPageUrl);
     }
 
     /**
@@ -170,9 +564,10 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      * @author Achitheus (Yury Yurchenko)
      */
     public boolean previousPage() {
-        Optional<WebElement> prevButton = findElementSoftly(By.xpath("//div[@data-apiary-widget-name=\"@marketfront/SearchPager\"]//div[@class='cia-cs' and @data-baobab-name='prev']"),
+        Optional<WebElement> prevButton = findElementSoftly(PREVIOUS_PAGE_BUTTON,
                 driver, Duration.ofSeconds(2), Duration.ofSeconds(IMPLICITLY_WAIT));
         prevButton.ifPresent(button -> {
+            trackGoodsLoad();
             prevButton.get().click();
             waitUntilGoodsLoaded();
         });
@@ -187,9 +582,10 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      * @author Achitheus (Yury Yurchenko)
      */
     public boolean nextPage() {
-        Optional<WebElement> nextButton = findElementSoftly(By.xpath("//div[@data-apiary-widget-name=\"@marketfront/SearchPager\"]//div[@data-baobab-name='next']//span"),
+        Optional<WebElement> nextButton = findElementSoftly(NEXT_PAGE_BUTTON,
                 driver, Duration.ofSeconds(2), Duration.ofSeconds(IMPLICITLY_WAIT));
         nextButton.ifPresent(button -> {
+            trackGoodsLoad();
             nextButton.get().click();
             waitUntilGoodsLoaded();
         });
@@ -204,6 +600,7 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      * @author Achitheus (Yury Yurchenko)
      */
     public void setEnumFilters(Map<String, List<String>> enumFilters) {
+        trackGoodsLoad();
         for (Map.Entry<String, List<String>> enumFilter : enumFilters.entrySet()) {
             setEnumFilterWithoutWait(enumFilter.getKey(), enumFilter.getValue(), OptionProcessType.MARK);
         }
@@ -223,6 +620,7 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      * @author Achitheus (Yury Yurchenko)
      */
     public void setEnumFilter(String titleSubstring, OptionProcessType processType, List<String> targets) {
+        trackGoodsLoad();
         setEnumFilterWithoutWait(titleSubstring, targets, processType);
         waitUntilGoodsLoaded();
     }
@@ -235,6 +633,7 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      * @author Achitheus (Yury Yurchenko)
      */
     public void setEnumFilter(String titleSubstring, List<String> options) {
+        trackGoodsLoad();
         setEnumFilterWithoutWait(titleSubstring, options, OptionProcessType.MARK);
         waitUntilGoodsLoaded();
     }
@@ -260,8 +659,41 @@ public class CategoryGoods extends MarketHeader implements Pageable {
         if (!mutableTargetSet.isEmpty()) throw new InvalidArgumentException("There are not found options: " + mutableTargetSet);
     }
 
+    /**
+     * Создает постраничную проверку выдачи. К отчету о проваленных страницах прикладывается только HTML выдачи.
+     *
+     * @return объект постраничной проверки.
+     * @author Achitheus (Yury Yurchenko)
+     */
     public PageableChecker<CategoryGoods> schedulePageableCheck() {
-        return new PageableChecker<>(this, driver);
+        return new PageableChecker<>(this, driver).setPageSourceScope("main#searchResults");
+    }
+
+    /**
+     * Создает фабрику загрузчиков страниц текущей выдачи (с текущими фильтрами) для параллельной
+     * проверки {@link PageableChecker#inParallel(int, Supplier)}. Url выдачи и cookies текущего сеанса
+     * запоминаются в момент вызова и переносятся в сеанс каждого загрузчика.
+     *
+     * @param driverFactory фабрика веб-драйверов, каждый вызов должен создавать новый сеанс браузера.
+     * @return фабрика загрузчиков страниц.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public Supplier<PageLoader<CategoryGoods>> pageLoaders(Supplier<WebDriver> driverFactory) {
+        String searchUrl = driver.getCurrentUrl();
+        Set<Cookie> cookies = driver.manage().getCookies();
+        return () -> new CategoryGoodsPageLoader(driverFactory.get(), searchUrl, cookies, IMPLICITLY_WAIT);
+    }
+
+    /**
+     * Переносит текущую выдачу (с текущими фильтрами) в объект страницы, загружающий страницы без браузера.
+     * Url выдачи, cookies и {@code user-agent} текущего сеанса запоминаются в момент вызова.
+     *
+     * @return объект первой страницы выдачи, загруженной без браузера.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public CategoryGoodsHtml toHtmlPages() {
+        String userAgent = (String) ((JavascriptExecutor) driver).executeScript("return navigator.userAgent;");
+        return new CategoryGoodsHtml(driver.getCurrentUrl(), driver.manage().getCookies(), userAgent);
     }
 
     /**
@@ -281,7 +713,7 @@ public class CategoryGoods extends MarketHeader implements Pageable {
             processEnumFilterWithSearchField(filter, mutableTargetSet, processType);
             return;
         }
-        List<WebElement> optionList = filter.findElements(By.xpath(".//*[@data-zone-name = 'FilterValue']//label"));
+        List<WebElement> optionList = filter.findElements(FILTER_OPTIONS);
         for (WebElement option : optionList) {
             String optionTitle = option.getText();
             Optional<String> target = mutableTargetSet.stream().filter(optionTitle::equalsIgnoreCase).findFirst();
@@ -311,8 +743,9 @@ public class CategoryGoods extends MarketHeader implements Pageable {
     }
 
     /**
-     * Обрабатывает (отмечая, либо снимая отметки) чекбоксы фильтра
-     * перечислений с помощью поля поиска.
+     * Обрабатывает (отмечая, либо снимая отметки) чекбоксы фильтра перечислений с асинхронно прокручиваемым списком.
+     * Все чекбоксы сначала обрабатываются одним скриптом, прокручивающим список (см. {@link #HARVEST_VIRTUOSO_OPTIONS_SCRIPT}),
+     * и только не найденные им ищутся по одному с помощью поля поиска.
      *
      * @param filter           фильтр с обрабатываемыми чекбоксами.
      * @param mutableTargetSet {@code mutable} множество полных регистро-независимых названий чекбоксов,
@@ -321,14 +754,18 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      * @author Achitheus (Yury Yurchenko)
      */
     private void processEnumFilterWithSearchField(WebElement filter, Set<String> mutableTargetSet, OptionProcessType processType) {
-        WebElement filterSearchField = filter.findElement(By.xpath(".//input[@type='text']"));
+        mutableTargetSet.retainAll(harvestVirtuosoOptions(filter, mutableTargetSet, processType));
+        if (mutableTargetSet.isEmpty()) {
+            return;
+        }
+        WebElement filterSearchField = filter.findElement(FILTER_SEARCH_FIELD);
         for (Iterator<String> iterator = mutableTargetSet.iterator(); iterator.hasNext(); ) {
             String targetName = iterator.next();
             filterSearchField.click();
             filterSearchField.clear();
             filterSearchField.sendKeys(targetName);
             WebElement foundCheckbox = (WebElement) wait.until((driver) -> {
-                WebElement currentCheckbox = filter.findElement(By.xpath(".//*[@data-zone-name = 'FilterValue']//label[1]"));
+                WebElement currentCheckbox = filter.findElement(FILTER_OPTIONS);
                 if (currentCheckbox.getText().equalsIgnoreCase(targetName)) {
                     return currentCheckbox;
                 } else {
@@ -342,18 +779,128 @@ public class CategoryGoods extends MarketHeader implements Pageable {
         }
     }
 
+    /**
+     * Обрабатывает чекбоксы асинхронно прокручиваемого списка фильтра скриптом {@link #HARVEST_VIRTUOSO_OPTIONS_SCRIPT}.
+     *
+     * @param filter      фильтр с обрабатываемыми чекбоксами.
+     * @param targets     полные регистро-независимые названия чекбоксов, которые нужно обработать.
+     * @param processType режим обработки чекбоксов.
+     * @return названия чекбоксов, которые найти не удалось.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> harvestVirtuosoOptions(WebElement filter, Set<String> targets, OptionProcessType processType) {
+        Object notFound = ((JavascriptExecutor) driver).executeAsyncScript(HARVEST_VIRTUOSO_OPTIONS_SCRIPT,
+                filter, List.copyOf(targets), processType == OptionProcessType.MARK, HARVEST_TIMEOUT.toMillis(), false);
+        List<String> notFoundTargets = (List<String>) notFound;
+        logger.debug("Virtualised filter options resolved in one pass: {} of {}", targets.size() - notFoundTargets.size(), targets.size());
+        return notFoundTargets;
+    }
+
+    /**
+     * Проверяет чекбоксы асинхронно прокручиваемого списка фильтра скриптом {@link #HARVEST_VIRTUOSO_OPTIONS_SCRIPT},
+     * не переключая их.
+     *
+     * @param filter  фильтр с проверяемыми чекбоксами.
+     * @param targets полные регистро-независимые названия чекбоксов, которые должны быть отмечены.
+     * @return названия чекбоксов, которые не найдены или не отмечены.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> verifyVirtuosoOptions(WebElement filter, Set<String> targets) {
+        return (List<String>) ((JavascriptExecutor) driver).executeAsyncScript(HARVEST_VIRTUOSO_OPTIONS_SCRIPT,
+                filter, List.copyOf(targets), true, HARVEST_TIMEOUT.toMillis(), true);
+    }
+
+    /**
+     * Дожидается окончания загрузки товаров способом, установленным {@link #setLoadDetection(LoadDetection)}.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    protected void waitUntilGoodsLoaded() {
+        invalidatePageState();
+        if (loadDetection == LoadDetection.MUTATION_OBSERVER) {
+            waitUntilGoodsSettled();
+        } else {
+            waitUntilSpinnerDisappears();
+        }
+    }
+
     /**
      * <i>Мягко</i> ожидает появления спиннера загрузки товаров и, в случае его появления,
      * дожидается его исчезновения.
      *
      * @author Achitheus (Yury Yurchenko)
      */
-    protected void waitUntilGoodsLoaded() {
-        Optional<WebElement> spinner = findElementSoftly(By.xpath("//*[@data-grabber='SearchSerp']//*[@data-auto='spinner']"),
+    private void waitUntilSpinnerDisappears() {
+        Optional<WebElement> spinner = findElementSoftly(SPINNER,
                 driver, Duration.ofSeconds(1), Duration.ofSeconds(IMPLICITLY_WAIT));
         spinner.ifPresent(webElement -> wait.until(invisibilityOf(webElement)));
     }
 
+    /**
+     * Устанавливает на страницу трекер загрузки товаров (см. {@link #INSTALL_GOODS_LOAD_TRACKER_SCRIPT}), если
+     * товары ожидаются способом {@link LoadDetection#MUTATION_OBSERVER}. Вызывается до действия, меняющего выдачу,
+     * чтобы трекер учел запросы, отправленные самим действием.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void trackGoodsLoad() {
+        if (loadDetection != LoadDetection.MUTATION_OBSERVER) {
+            return;
+        }
+        try {
+            ((JavascriptExecutor) driver).executeScript(INSTALL_GOODS_LOAD_TRACKER_SCRIPT, GOODS_REQUEST_PATTERN);
+        } catch (JavascriptException e) {
+            logger.warn("Failed to install goods load tracker: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Дожидается, пока выдача товаров "успокоится": одним асинхронным скриптом, который завершается, когда нет
+     * спиннера, незавершенных запросов выдачи и изменений выдачи в течение {@code SETTLE_QUIET_PERIOD}
+     * (см. {@link #WAIT_FOR_SETTLED_GOODS_SCRIPT}). Если скрипт выполнить не удалось или выдача не успокоилась
+     * за время ожидания, используется ожидание спиннера.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private void waitUntilGoodsSettled() {
+        long timeout = SETTLE_TIMEOUT.toMillis();
+        Object settled;
+        try {
+            settled = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_FOR_SETTLED_GOODS_SCRIPT,
+                    GOODS_REQUEST_PATTERN, SETTLE_QUIET_PERIOD.toMillis(), timeout);
+        } catch (JavascriptException e) {
+            logger.warn("Goods load tracking script failed, falling back to spinner wait: {}", e.getMessage());
+            waitUntilSpinnerDisappears();
+            return;
+        }
+        if (!Boolean.TRUE.equals(settled)) {
+            logger.warn("Goods have not settled in {} ms, falling back to spinner wait", timeout);
+            waitUntilSpinnerDisappears();
+        }
+    }
+
+    /**
+     * Устанавливает способ ожидания загрузки товаров после изменения фильтров и переходов по страницам.
+     *
+     * @param loadDetection способ ожидания загрузки товаров.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void setLoadDetection(LoadDetection loadDetection) {
+        this.loadDetection = loadDetection;
+    }
+
+    /**
+     * Устанавливает способ установки фильтров методом {@link #applyFilters(Map, List)}.
+     *
+     * @param filterMode способ установки фильтров.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public void setFilterMode(FilterMode filterMode) {
+        this.filterMode = filterMode;
+    }
+
     /**
      * Проверяет, отмечен ли данный чекбокс.
      *
@@ -373,7 +920,7 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      * @author Achitheus (Yury Yurchenko)
      */
     private boolean soCalledDataVirtuosoScrollerIsDetected(WebElement filter) {
-        return findElementSoftly(filter, By.xpath(".//*[@data-virtuoso-scroller='true']"),
+        return findElementSoftly(filter, VIRTUOSO_SCROLLER,
                 driver, Duration.ofSeconds(2), Duration.ofSeconds(IMPLICITLY_WAIT))
                 .isPresent();
     }
@@ -387,10 +934,11 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      */
     private boolean expand(WebElement filter) {
         waitUntilGoodsLoaded();
-        Optional<WebElement> expandButton = findElementSoftly(filter, By.tagName("button"), driver, Duration.ZERO, Duration.ofSeconds(IMPLICITLY_WAIT));
+        Optional<WebElement> expandButton = findElementSoftly(filter, FILTER_EXPAND_BUTTON, driver, Duration.ZERO, Duration.ofSeconds(IMPLICITLY_WAIT));
         if(expandButton.isEmpty() || Boolean.parseBoolean(expandButton.get().getAttribute("aria-expanded"))) {
             return false;
         }
+        trackGoodsLoad();
         expandButton.get().click();
         return true;
     }
@@ -403,7 +951,37 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      * @author Achitheus (Yury Yurchenko)
      */
     private WebElement getFilterByTextInTitle(String titleSubstring) {
-       return driver.findElement(By.xpath("//*[@id='searchFilters']//fieldset[ .//legend[contains(., '" + titleSubstring + "')]]"));
+       return driver.findElement(FILTER_BY_TITLE.with(titleSubstring));
+    }
+
+    /**
+     * Возвращает снимок данных всех представленных на странице товаров, предварительно
+     * проскроллив страницу вниз для получения полного списка товаров. Все данные
+     * извлекаются одним скриптом, т.е. за одно обращение к браузеру вне зависимости от количества товаров.
+     * Снимок кэшируется до перехода на другую страницу или изменения фильтров, поэтому повторные вызовы
+     * (например, разными чеками одной страницы) к браузеру не обращаются.
+     *
+     * @return снимок данных товаров страницы.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public ProductSnapshot getProductSnapshot() {
+        if (productSnapshot == null) {
+            scrollToBottom();
+            List<List<String>> extracted = extractTexts(driver,
+                    selectorProductNames, selectorProductPrices, selectorProductLinks, selectorProductRatings);
+            productSnapshot = new ProductSnapshot(extracted.get(0), extracted.get(1), extracted.get(2), extracted.get(3));
+        }
+        return productSnapshot;
+    }
+
+    /**
+     * Сбрасывает снимок данных товаров текущей страницы.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    protected void invalidatePageState() {
+        productSnapshot = null;
     }
 
     /**
@@ -413,12 +991,9 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      * @return список наименований всех товаров на странице.
      * @author Achitheus (Yury Yurchenko)
      */
+    @Override
     public List<String> getProductNames() {
-        scrollToBottom();
-        return driver.findElements(By.xpath(selectorProductNames))
-                .stream()
-                .map(WebElement::getText)
-                .collect(Collectors.toList());
+        return getProductSnapshot().getNames();
     }
 
     /**
@@ -429,15 +1004,60 @@ public class CategoryGoods extends MarketHeader implements Pageable {
      * @return список цен всех товаров на странице.
      * @author Achitheus (Yury Yurchenko)
      */
+    @Override
     public List<Double> getProductPrices() {
-        scrollToBottom();
-        return driver.findElements(By.xpath(selectorProductPrices))
-                .stream()
-                .mapToDouble(priceElement -> Double.parseDouble(
-                        priceElement.getText().replaceAll(",", ".").replaceAll("[^\\d.]", ""))
-                )
-                .boxed()
-                .collect(Collectors.toList());
+        return getProductSnapshot().getPrices();
+    }
+
+    /**
+     * Возвращает цены всех представленных на странице товаров без упаковки в объекты,
+     * предварительно проскроллив страницу вниз для получения полного списка цен.
+     *
+     * @return массив цен всех товаров на странице.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public double[] getProductPriceArray() {
+        return getProductSnapshot().getPriceArray();
+    }
+
+    /**
+     * Перечисление способов ожидания загрузки товаров.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public enum LoadDetection {
+        /**
+         * Мягкое ожидание появления спиннера (до секунды) и его исчезновения.
+         */
+        SPINNER,
+        /**
+         * Ожидание отсутствия спиннера, запросов выдачи и изменений выдачи, отслеживаемых скриптом на странице.
+         * Трекер устанавливается до действий, меняющих выдачу.
+         */
+        MUTATION_OBSERVER
+    }
+
+    /**
+     * Перечисление способов установки фильтров.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public enum FilterMode {
+        /**
+         * Установка через интерфейс: чекбоксы и поля диапазонов.
+         */
+        CLICK,
+        /**
+         * Установка одним переходом по url, параметры которого узнаются при первой установке через интерфейс.
+         */
+        URL,
+        /**
+         * То же, что и {@code URL}, но после перехода состояние фильтров сверяется с интерфейсом (включая чекбоксы
+         * свернутых и асинхронно прокручиваемых списков). При расхождении параметры url забываются и фильтры
+         * устанавливаются через интерфейс.
+         */
+        URL_VERIFIED
     }
 
     /**
@@ -0,0 +1,238 @@
+package pages.ru.yandex.market;
+
+import helpers.pageable.PageLoader;
+import helpers.pageable.Pageable;
+import helpers.pageable.PageableChecker;
+import org.jsoup.Jsoup;
+import org.openqa.selenium.Cookie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static helpers.HtmlExtractor.extractTexts;
+import static pages.ru.yandex.market.CategoryGoods.selectorProductLinks;
+import static pages.ru.yandex.market.CategoryGoods.selectorProductNames;
+import static pages.ru.yandex.market.CategoryGoods.selectorProductPrices;
+import static pages.ru.yandex.market.CategoryGoods.selectorProductRatings;
+
+/**
+ * Страница выдачи товаров категории, загружаемая без браузера: HTML страниц запрашивается HTTP клиентом
+ * с cookies и {@code user-agent} сеанса браузера, в котором установлены фильтры, и разбирается jsoup по тем же
+ * селекторам, что и в {@link CategoryGoods}. Подходит только для чеков, читающих данные товаров: скрипты
+ * страницы не выполняются, поэтому доступны лишь товары, отрисованные сервером.
+ * Объект страницы используется одним потоком, HTTP клиент общий и потокобезопасный.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class CategoryGoodsHtml implements Pageable, ProductListing {
+    public static final Logger logger = LoggerFactory.getLogger(CategoryGoodsHtml.class);
+    /**
+     * Общий HTTP клиент всех страниц (следует перенаправлениям, чтобы обнаружить страницу капчи или смену номера страницы).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    /**
+     * Максимальное время ответа на запрос страницы.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String searchUrl;
+    private final String cookieHeader;
+    private final String userAgent;
+    private int pageNumber;
+    private String html;
+    private ProductSnapshot productSnapshot;
+
+    /**
+     * Создает объект страницы и загружает первую страницу выдачи.
+     *
+     * @param searchUrl url любой страницы выдачи с установленными фильтрами.
+     * @param cookies   cookies сеанса браузера, в котором установлены фильтры.
+     * @param userAgent {@code user-agent} сеанса браузера.
+     * @throws IllegalStateException если на первой странице нет товаров (например, вместо выдачи получена капча).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public CategoryGoodsHtml(String searchUrl, Set<Cookie> cookies, String userAgent) {
+        this(searchUrl, cookies.stream()
+                .map(cookie -> cookie.getName() + "=" + cookie.getValue())
+                .collect(Collectors.joining("; ")), userAgent);
+        if (!toPage(1)) {
+            throw new IllegalStateException("No products found without browser at " + CategoryGoods.pageUrl(searchUrl, 1));
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private CategoryGoodsHtml(String searchUrl, String cookieHeader, String userAgent) {
+        this.searchUrl = searchUrl;
+        this.cookieHeader = cookieHeader;
+        this.userAgent = userAgent;
+    }
+
+    /**
+     * Загружает страницу выдачи с указанным номером. Страница считается несуществующей, если на ней нет
+     * товаров либо сайт перенаправил запрос на страницу с другим номером (или на капчу). В этом случае
+     * объект остается на прежней странице.
+     *
+     * @param pageNumber номер страницы, начиная с единицы.
+     * @return {@code true}, если страница загружена, иначе - {@code false}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public boolean toPage(int pageNumber) {
+        HttpResponse<String> response = fetch(CategoryGoods.pageUrl(searchUrl, pageNumber));
+        String finalUrl = response.uri().toString();
+        if (!finalUrl.matches(".*[?&]page=" + pageNumber + "(&.*)?")) {
+            if (finalUrl.contains("showcaptcha")) {
+                logger.warn("Captcha requested instead of page {}: {}", pageNumber, finalUrl);
+            }
+            return false;
+        }
+        List<List<String>> extracted = extractTexts(Jsoup.parse(response.body(), finalUrl),
+                selectorProductNames, selectorProductPrices, selectorProductLinks, selectorProductRatings);
+        if (extracted.get(0).isEmpty()) {
+            return false;
+        }
+        this.pageNumber = pageNumber;
+        this.html = response.body();
+        this.productSnapshot = new ProductSnapshot(extracted.get(0), extracted.get(1), extracted.get(2), extracted.get(3));
+        return true;
+    }
+
+    /**
+     * Загружает следующую страницу выдачи.
+     *
+     * @return {@code true}, если следующая страница существует и загружена, иначе - {@code false}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public boolean nextPage() {
+        return toPage(pageNumber + 1);
+    }
+
+    /**
+     * Создает постраничную проверку выдачи. К отчету о проваленных страницах прикладывается полученный HTML страницы.
+     *
+     * @return объект постраничной проверки.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public PageableChecker<CategoryGoodsHtml> schedulePageableCheck() {
+        return new PageableChecker<>(this, null).pageSourceFrom(CategoryGoodsHtml::getHtml);
+    }
+
+    /**
+     * Создает фабрику загрузчиков страниц текущей выдачи для параллельной проверки
+     * {@link PageableChecker#inParallel(int, Supplier)}. Загрузчики не открывают сеансов браузера
+     * и используют общий HTTP клиент, поэтому количество параллельных загрузок ограничено только сайтом.
+     *
+     * @return фабрика загрузчиков страниц.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public Supplier<PageLoader<CategoryGoodsHtml>> pageLoaders() {
+        return () -> new PageLoader<>() {
+            @Override
+            public Optional<CategoryGoodsHtml> load(int pageNumber) {
+                CategoryGoodsHtml page = new CategoryGoodsHtml(searchUrl, cookieHeader, userAgent);
+                return page.toPage(pageNumber) ? Optional.of(page) : Optional.empty();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private HttpResponse<String> fetch(String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("User-Agent", userAgent)
+                .header("Cookie", cookieHeader)
+                .header("Accept", "text/html")
+                .header("Accept-Language", "ru-RU,ru")
+                .GET()
+                .build();
+        try {
+            return HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + url, e);
+        }
+    }
+
+    /**
+     * Возвращает номер загруженной страницы.
+     *
+     * @return номер страницы.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    /**
+     * Возвращает HTML загруженной страницы в том виде, в котором его вернул сайт.
+     *
+     * @return HTML страницы.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public String getHtml() {
+        return html;
+    }
+
+    /**
+     * Возвращает снимок данных товаров загруженной страницы.
+     *
+     * @return снимок данных товаров страницы.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public ProductSnapshot getProductSnapshot() {
+        return productSnapshot;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public List<String> getProductNames() {
+        return productSnapshot.getNames();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public List<Double> getProductPrices() {
+        return productSnapshot.getPrices();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public double[] getProductPriceArray() {
+        return productSnapshot.getPriceArray();
+    }
+}
@@ -0,0 +1,79 @@
+package pages.ru.yandex.market;
+
+import helpers.pageable.PageLoader;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Загрузчик страниц выдачи товаров категории в отдельном сеансе браузера. Страницы открываются
+ * напрямую по url (см. {@link CategoryGoods#pageUrl(String, int)}), а данные товаров сразу
+ * извлекаются в снимок, поэтому возвращаемые объекты страниц к браузеру больше не обращаются.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class CategoryGoodsPageLoader implements PageLoader<CategoryGoods> {
+    private final WebDriver driver;
+    private final String searchUrl;
+    private final int implicitlyWait;
+
+    /**
+     * Создает загрузчик страниц и переносит в его сеанс cookies исходного сеанса (для этого
+     * открывается легковесная страница того же домена).
+     *
+     * @param driver         веб-драйвер сеанса загрузчика.
+     * @param searchUrl      url любой страницы выдачи с установленными фильтрами.
+     * @param cookies        cookies исходного сеанса.
+     * @param implicitlyWait неявное ожидание, установленное для теста.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public CategoryGoodsPageLoader(WebDriver driver, String searchUrl, Set<Cookie> cookies, int implicitlyWait) {
+        this.driver = driver;
+        this.searchUrl = searchUrl;
+        this.implicitlyWait = implicitlyWait;
+        URI uri = URI.create(searchUrl);
+        driver.get(uri.getScheme() + "://" + uri.getAuthority() + "/robots.txt");
+        cookies.forEach(cookie -> driver.manage().addCookie(cookie));
+    }
+
+    /**
+     * Открывает страницу выдачи с указанным номером. Страница считается несуществующей, если на ней нет
+     * товаров либо сайт перенаправил запрос на страницу с другим номером.
+     *
+     * @param pageNumber номер страницы, начиная с единицы.
+     * @return объект страницы с заполненным снимком товаров или {@code Optional.empty()}, если страницы нет.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public Optional<CategoryGoods> load(int pageNumber) {
+        String targetPageUrl = CategoryGoods.pageUrl(searchUrl, pageNumber);
+        driver.get(targetPageUrl);
+        if (!driver.getCurrentUrl().matches(".*[?&]page=" + pageNumber + "(&.*)?")) {
+            return Optional.empty();
+        }
+        CategoryGoods page = new CategoryGoods(driver, implicitlyWait);
+        if (page.getProductSnapshot().getNames().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(page);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public Optional<WebDriver> getDriver() {
+        return Optional.of(driver);
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public void close() {
+        driver.quit();
+    }
+}
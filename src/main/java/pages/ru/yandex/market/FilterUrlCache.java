@@ -0,0 +1,176 @@
+package pages.ru.yandex.market;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Кэш параметров url, соответствующих наборам фильтров выдачи. Параметры узнаются один раз: фильтры
+ * устанавливаются через интерфейс, а разница параметров url до и после установки запоминается для категории
+ * и набора фильтров. Кэш общий для всех объектов страниц и, если указан файл, сохраняется между запусками.
+ * Методы класса потокобезопасны.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class FilterUrlCache {
+    /**
+     * Служебные параметры выдачи, не относящиеся к фильтрам: номер страницы и непрозрачный токен состояния.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final Set<String> VOLATILE_PARAMS = Set.of("page", "rs");
+    private static final Json JSON = new Json();
+    private static final Map<String, Map<String, List<String>>> deltas = new ConcurrentHashMap<>();
+    private static volatile Path file;
+
+    /**
+     * Подключает файл кэша: загружает ранее сохраненные параметры и далее сохраняет в него каждый новый набор.
+     *
+     * @param cacheFile файл кэша.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized void persistTo(Path cacheFile) {
+        if (cacheFile.equals(file)) {
+            return;
+        }
+        file = cacheFile;
+        if (Files.exists(cacheFile)) {
+            try {
+                Map<String, Map<String, List<String>>> saved = JSON.toType(Files.readString(cacheFile), Map.class);
+                saved.forEach((key, delta) -> deltas.putIfAbsent(key, delta));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Возвращает параметры url для набора фильтров категории.
+     *
+     * @param key ключ набора фильтров категории.
+     * @return изменения параметров url: значения параметров по их именам ({@code null} - параметр удаляется) или {@code Optional.empty()}, если набор еще не узнан.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static Optional<Map<String, List<String>>> get(String key) {
+        return Optional.ofNullable(deltas.get(key));
+    }
+
+    /**
+     * Запоминает параметры url набора фильтров категории как разницу параметров url до и после установки фильтров.
+     *
+     * @param key       ключ набора фильтров категории.
+     * @param urlBefore url выдачи до установки фильтров.
+     * @param urlAfter  url выдачи после установки фильтров.
+     * @return запомненные изменения параметров url.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static Map<String, List<String>> learn(String key, String urlBefore, String urlAfter) {
+        Map<String, List<String>> before = queryParams(urlBefore);
+        Map<String, List<String>> after = queryParams(urlAfter);
+        Map<String, List<String>> delta = new LinkedHashMap<>();
+        after.forEach((name, value) -> {
+            if (!VOLATILE_PARAMS.contains(name) && !value.equals(before.get(name))) {
+                delta.put(name, value);
+            }
+        });
+        before.keySet().stream()
+                .filter(name -> !VOLATILE_PARAMS.contains(name) && !after.containsKey(name))
+                .forEach(name -> delta.put(name, null));
+        deltas.put(key, delta);
+        save();
+        return delta;
+    }
+
+    /**
+     * Забывает параметры набора фильтров (например, если они перестали соответствовать фильтрам).
+     *
+     * @param key ключ набора фильтров категории.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static void evict(String key) {
+        deltas.remove(key);
+        save();
+    }
+
+    /**
+     * Применяет изменения параметров к url. Параметр номера страницы удаляется.
+     *
+     * @param url   исходный url.
+     * @param delta изменения параметров url.
+     * @return url с измененными параметрами.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static String apply(String url, Map<String, List<String>> delta) {
+        int queryStart = url.indexOf('?');
+        Map<String, List<String>> params = queryParams(url);
+        params.remove("page");
+        delta.forEach((name, value) -> {
+            if (value == null) {
+                params.remove(name);
+            } else {
+                params.put(name, value);
+            }
+        });
+        StringBuilder result = new StringBuilder(queryStart < 0 ? url : url.substring(0, queryStart));
+        char separator = '?';
+        for (Map.Entry<String, List<String>> param : params.entrySet()) {
+            for (String value : param.getValue()) {
+                result.append(separator).append(param.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Разбирает параметры url, не декодируя их. Значения повторяющегося параметра собираются в список.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static Map<String, List<String>> queryParams(String url) {
+        Map<String, List<String>> params = new LinkedHashMap<>();
+        int queryStart = url.indexOf('?');
+        if (queryStart < 0) {
+            return params;
+        }
+        int fragmentStart = url.indexOf('#', queryStart);
+        String query = fragmentStart < 0 ? url.substring(queryStart + 1) : url.substring(queryStart + 1, fragmentStart);
+        for (String param : query.split("&")) {
+            if (param.isEmpty()) {
+                continue;
+            }
+            int eq = param.indexOf('=');
+            params.computeIfAbsent(eq < 0 ? param : param.substring(0, eq), name -> new ArrayList<>())
+                    .add(eq < 0 ? "" : param.substring(eq + 1));
+        }
+        return params;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static synchronized void save() {
+        if (file == null) {
+            return;
+        }
+        try {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            Files.writeString(file, JSON.toJson(new LinkedHashMap<>(deltas)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package pages.ru.yandex.market;
 
+import helpers.locators.LocatorTemplate;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -10,6 +11,10 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 
+import static helpers.locators.Locators.css;
+import static helpers.locators.Locators.xpath;
+import static helpers.locators.Locators.xpathTemplate;
+
 /**
  * Класс взаимодействия с шапкой сайта яндекс маркета.
  *
@@ -19,9 +24,12 @@ public class MarketHeader {
     protected final WebDriver driver;
     protected WebDriverWait wait;
 
-    private final String catalogButtonLocator = "//*[text()='Каталог']";
-    private final String searchFieldLocator = "//header//input[@type='text' and @id='header-search']";
-    private final String searchSubmitButtonLocator = "//header//button[@type='submit']";
+    private static final By CATALOG_BUTTON = xpath("//*[text()='Каталог']");
+    private static final By SEARCH_FIELD = css("header input#header-search[type='text']");
+    private static final By SEARCH_SUBMIT_BUTTON = css("header button[type='submit']");
+    private static final LocatorTemplate CATALOG_SECTION = xpathTemplate(
+            "//*[@data-zone-name='catalog-content']//*[@role='tablist']//li[.//span[text()=%s]]");
+    private static final LocatorTemplate CATALOG_CATEGORY = xpathTemplate("//*[@role='tabpanel']//a[text()=%s]");
 
     /**
      * Создает объект для взаимодействия с шапкой сайта яндекс маркета.
@@ -43,13 +51,13 @@ public class MarketHeader {
      */
     @Step("Переход в секцию \"{sectionTitle}\", категория - \"{categoryTitle}\"")
     public void toCategoryProductsPage(String sectionTitle, String categoryTitle) {
-        driver.findElement(By.xpath(catalogButtonLocator)).click();
-        WebElement section = driver.findElement(By.xpath(
-                "//*[@data-zone-name='catalog-content']//*[@role='tablist']//li[.//span[text()='" + sectionTitle + "']]"));
+        driver.findElement(CATALOG_BUTTON).click();
+        WebElement section = driver.findElement(CATALOG_SECTION.with(sectionTitle));
         Actions actions = new Actions(driver);
         actions.moveToElement(section).perform();
         wait.until(ExpectedConditions.attributeToBe(section, "aria-selected", "true"));
-        driver.findElement(By.xpath("//*[@role='tabpanel']//a[text()='" + categoryTitle + "']")).click();
+        driver.findElement(CATALOG_CATEGORY.with(categoryTitle)).click();
+        invalidatePageState();
     }
 
     /**
@@ -60,10 +68,20 @@ public class MarketHeader {
      */
     @Step("Поиск по запросу \"{text}\"")
     public void findProduct(String text) {
-        WebElement searchField = driver.findElement(By.xpath(searchFieldLocator));
+        WebElement searchField = driver.findElement(SEARCH_FIELD);
         searchField.click();
         searchField.clear();
         searchField.sendKeys(text);
-        driver.findElement(By.xpath(searchSubmitButtonLocator)).click();
+        driver.findElement(SEARCH_SUBMIT_BUTTON).click();
+        invalidatePageState();
+    }
+
+    /**
+     * Вызывается после действий, приводящих к смене содержимого страницы. Наследники, кэширующие
+     * данные страницы, должны сбрасывать кэш в переопределении этого метода.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    protected void invalidatePageState() {
     }
 }
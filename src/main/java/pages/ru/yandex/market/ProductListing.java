@@ -0,0 +1,36 @@
+package pages.ru.yandex.market;
+
+import java.util.List;
+
+/**
+ * Страница выдачи товаров, из которой можно прочитать данные товаров. Позволяет описывать чеки выдачи
+ * один раз как для страниц в браузере ({@link CategoryGoods}), так и для страниц, загруженных без браузера
+ * ({@link CategoryGoodsHtml}).
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public interface ProductListing {
+    /**
+     * Возвращает список наименований всех представленных на странице товаров.
+     *
+     * @return список наименований товаров.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    List<String> getProductNames();
+
+    /**
+     * Возвращает список цен всех представленных на странице товаров.
+     *
+     * @return список цен товаров.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    List<Double> getProductPrices();
+
+    /**
+     * Возвращает цены всех представленных на странице товаров без упаковки в объекты.
+     *
+     * @return массив цен товаров.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    double[] getProductPriceArray();
+}
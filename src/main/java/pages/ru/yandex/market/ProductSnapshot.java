@@ -0,0 +1,145 @@
+package pages.ru.yandex.market;
+
+import helpers.PriceParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Снимок данных товаров страницы, полученный за одно обращение к браузеру.
+ * Данные снимка неизменяемы, единственное изменяемое поле - лениво заполняемый кеш разобранных рейтингов,
+ * безопасный для одновременного обращения из нескольких потоков (см. {@link #getRatings()}).
+ * Объект не связан с веб-драйвером, поэтому работа с ним не порождает запросов к браузеру.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class ProductSnapshot {
+    public static final Logger logger = LoggerFactory.getLogger(ProductSnapshot.class);
+    /**
+     * Число в тексте рейтинга (дробная часть отделяется точкой или запятой).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final Pattern RATING_NUMBER = Pattern.compile("\\d+(?:[.,]\\d+)?");
+    /**
+     * Наименования товаров в порядке их следования на странице.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private final List<String> names;
+    /**
+     * Цены товаров в порядке их следования на странице.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private final double[] prices;
+    /**
+     * Ссылки на карточки товаров в порядке их следования на странице.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private final List<String> links;
+    /**
+     * Тексты рейтингов товаров (только у тех товаров, рейтинг которых отображается).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private final List<String> ratingTexts;
+    /**
+     * Рейтинги товаров, разбираемые из текстов при первом обращении. Поле {@code volatile}, поэтому поток,
+     * увидевший разобранный список, видит и его содержимое.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private volatile List<Double> ratings;
+
+    /**
+     * Создает снимок товаров страницы из текстовых значений, извлеченных со страницы.
+     * Тексты рейтингов не разбираются до первого вызова {@link #getRatings()}.
+     *
+     * @param names       наименования товаров.
+     * @param priceTexts  тексты цен товаров в том виде, в котором они представлены на странице.
+     * @param links       ссылки на карточки товаров.
+     * @param ratingTexts тексты рейтингов товаров.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public ProductSnapshot(List<String> names, List<String> priceTexts, List<String> links, List<String> ratingTexts) {
+        this.names = Collections.unmodifiableList(names);
+        this.prices = PriceParser.parseAll(priceTexts);
+        this.links = Collections.unmodifiableList(links);
+        this.ratingTexts = Collections.unmodifiableList(ratingTexts);
+    }
+
+    /**
+     * Возвращает наименования товаров.
+     *
+     * @return неизменяемый список наименований товаров.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Возвращает цены товаров.
+     *
+     * @return неизменяемый список цен товаров (упакованная копия, см. {@link #getPriceArray()}).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public List<Double> getPrices() {
+        return Arrays.stream(prices).boxed().collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Возвращает цены товаров без упаковки в объекты.
+     *
+     * @return копия массива цен товаров.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public double[] getPriceArray() {
+        return prices.clone();
+    }
+
+    /**
+     * Возвращает ссылки на карточки товаров.
+     *
+     * @return неизменяемый список ссылок на карточки товаров.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public List<String> getLinks() {
+        return links;
+    }
+
+    /**
+     * Возвращает рейтинги товаров, у которых рейтинг отображается. Рейтинги разбираются при первом вызове:
+     * из текста берется первое число, а тексты без чисел пропускаются. При одновременном первом вызове из нескольких
+     * потоков рейтинги могут быть разобраны несколько раз, но все потоки получат одинаковые полностью заполненные списки.
+     *
+     * @return неизменяемый список рейтингов товаров.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public List<Double> getRatings() {
+        List<Double> result = ratings;
+        if (result == null) {
+            List<Double> parsedRatings = new ArrayList<>(ratingTexts.size());
+            for (String ratingText : ratingTexts) {
+                Matcher matcher = RATING_NUMBER.matcher(ratingText);
+                if (matcher.find()) {
+                    parsedRatings.add(Double.parseDouble(matcher.group().replace(',', '.')));
+                } else {
+                    logger.debug("Skipped product rating without a number: \"{}\"", ratingText);
+                }
+            }
+            result = Collections.unmodifiableList(parsedRatings);
+            ratings = result;
+        }
+        return result;
+    }
+}
@@ -1,31 +1,114 @@
 package ru.bellintegrator;
 
+import helpers.ScreenshotService;
+import helpers.driver.PageTrafficRecorder;
+import helpers.driver.ResourceBlocker;
+import helpers.metrics.DriverMetrics;
+import helpers.metrics.MetricsListener;
+import helpers.replay.ReplayMode;
+import helpers.replay.ReplayServer;
+import helpers.replay.ResponseStore;
 import io.qameta.allure.Allure;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.RegisterExtension;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 
-import static helpers.CustomAllure.screenshotInAllure;
+import static helpers.replay.ResponseRecorder.record;
+import static helpers.driver.UserAgentResolver.cachedUserAgent;
+import static helpers.driver.UserAgentResolver.overrideViaCdp;
+import static helpers.driver.UserAgentResolver.resolveWithTemporaryBrowser;
 import static helpers.properties.Properties.testProperties;
 
+@ExtendWith(WebDriverPoolExtension.class)
 public class BaseTest {
     public static final Logger log = LoggerFactory.getLogger(BaseTest.class);
+    /**
+     * Сеанс браузера текущего теста. JUnit создает отдельный экземпляр класса для каждого теста, а сеанс
+     * из пула выдается монопольно, поэтому при параллельном прогоне поле доступно только потоку своего теста.
+     * @author Achitheus (Yury Yurchenko)
+     */
     protected WebDriver driver;
     public static final int IMPLICITLY_WAIT = 15;
+    /**
+     * Хранилище записанных ответов сайта или {@code null}, если запись/воспроизведение выключены.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final ResponseStore RESPONSE_STORE = testProperties.replayMode() == ReplayMode.OFF
+                                                        ? null
+                                                        : new ResponseStore(Path.of(testProperties.replayDir()));
+
+    /**
+     * В режиме воспроизведения запускает локальный сервер записанных ответов и перенаправляет на него
+     * {@code yandex.url}. Сервер работает до завершения JVM. В режиме записи индекс хранилища
+     * записывается при завершении JVM.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    static {
+        if (testProperties.replayMode() == ReplayMode.RECORD) {
+            Runtime.getRuntime().addShutdownHook(new Thread(RESPONSE_STORE::close));
+        }
+        if (testProperties.replayMode() == ReplayMode.REPLAY) {
+            ReplayServer replayServer = new ReplayServer(RESPONSE_STORE);
+            testProperties.setProperty("yandex.url", replayServer.urlFor(testProperties.yandexUrl()));
+            Runtime.getRuntime().addShutdownHook(new Thread(replayServer::close));
+        }
+    }
+
+    /**
+     * Сервис скриншотов отчета, общий для всего прогона (и его бюджета на размер скриншотов).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    protected static final ScreenshotService SCREENSHOTS = new ScreenshotService(
+            testProperties.screenshotBudgetMb() * 1024L * 1024L,
+            testProperties.screenshotMaxWidth(),
+            testProperties.screenshotJpegQuality());
+    /**
+     * Слушатель, замеряющий команды всех создаваемых веб-драйверов (см. {@link DriverMetrics}).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final MetricsListener METRICS_LISTENER = new MetricsListener();
+    /**
+     * Директория JSON файлов с метриками тестов.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final Path METRICS_DIR = Path.of("target", "metrics");
+    /**
+     * Слушатели блокировки ресурсов созданных веб-драйверов (ключ - веб-драйвер, возвращенный {@link #createDriver(boolean)}).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final Map<WebDriver, ResourceBlocker> RESOURCE_BLOCKERS = Collections.synchronizedMap(new WeakHashMap<>());
+    /**
+     * Скриншот упавшего теста, перекодируемый в фоне.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private CompletableFuture<Optional<byte[]>> failureScreenshot;
 
     /**
-     * Если тест падает, перед закрытием драйвера (браузера) делается скриншот.
+     * Если тест падает, перед возвратом драйвера (браузера) в пул делается скриншот. Перекодирование скриншота
+     * выполняется в фоне, а в отчет он прикладывается в {@link #attachFailureScreenshot()}.
      * @author Achitheus (Yury Yurchenko)
      */
     @RegisterExtension
@@ -33,61 +116,154 @@ public class BaseTest {
         @Override
         public void afterTestExecution(ExtensionContext context) {
             Optional<Throwable> exception = context.getExecutionException();
-            exception.ifPresent(throwable -> screenshotInAllure("Screenshot on test fail", driver));
+            if (exception.isPresent()) {
+                failureScreenshot = SCREENSHOTS.encodeAsync(SCREENSHOTS.capture(driver));
+            }
         }
     };
 
     /**
-     * Настраивает и создает веб-драйвер в зависимости от установленных тестовых пропертей,
-     * добавляет в отчет информацию о версии Java и операционной системе, на которой
-     * тесты были запущены.
+     * Заканчивает сбор метрик обращений к браузеру, записывает их в {@code target/metrics} и прикладывает к отчету.
      *
+     * @param testInfo информация о тесте.
      * @author Achitheus (Yury Yurchenko)
      */
-    @BeforeEach
-    public void beforeEach() {
-        ChromeOptions options = new ChromeOptions();
-        if (testProperties.useBrowserProfile()) {
-            options.addArguments("--user-data-dir=" + testProperties.userDataDir())
-                   .addArguments("--profile-directory=" + testProperties.profileDir());
+    @AfterEach
+    public void exportDriverMetrics(TestInfo testInfo) {
+        DriverMetrics metrics = DriverMetrics.finish();
+        if (metrics == null) {
+            return;
         }
-        if (testProperties.headless()) {
-            options.addArguments("--headless=new")
-                   .addArguments("--user-agent=" + getUserAgent().replaceAll("(Headless)", ""));
+        String fileName = (testInfo.getTestMethod().map(Method::getName).orElse("test") + "-" + testInfo.getDisplayName())
+                .replaceAll("[^\\w.-]+", "_");
+        String json = metrics.writeJson(testInfo.getDisplayName(),
+                METRICS_DIR.resolve(fileName.substring(0, Math.min(fileName.length(), 150)) + ".json"));
+        Allure.addAttachment("Driver metrics", "application/json", json, ".json");
+    }
+
+    /**
+     * Прикладывает к отчету трафик страниц, открытых тестом (см. {@link PageTrafficRecorder}).
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @AfterEach
+    public void attachPageTraffic() {
+        trafficRecorder().ifPresent(recorder -> Allure.addAttachment("Page traffic", "text/tab-separated-values",
+                PageTrafficRecorder.format(recorder.drain()), ".tsv"));
+    }
+
+    /**
+     * Дожидается перекодирования скриншота упавшего теста и прикладывает его к отчету.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @AfterEach
+    public void attachFailureScreenshot() {
+        if (failureScreenshot != null) {
+            failureScreenshot.join().ifPresent(jpeg ->
+                    Allure.addAttachment("Screenshot on test fail", "image/jpeg", new ByteArrayInputStream(jpeg), ".jpg"));
         }
-        if (testProperties.mavenProfile().equalsIgnoreCase("dev")) {
-            System.setProperty("webdriver.chrome.driver", testProperties.chromeDriver());
+    }
+
+    /**
+     * Получает сеанс браузера из пула сеансов, начинает сбор метрик обращений к браузеру и учет трафика, добавляет в отчет информацию о версии Java и операционной системе, на которой
+     * тесты были запущены.
+     *
+     * @param driver сеанс браузера, предоставленный {@link WebDriverPoolExtension}.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @BeforeEach
+    public void beforeEach(WebDriver driver) {
+        this.driver = driver;
+        if (testProperties.driverMetrics()) {
+            DriverMetrics.start();
         }
-        driver = new ChromeDriver(options);
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(IMPLICITLY_WAIT));
+        trafficRecorder().ifPresent(PageTrafficRecorder::drain);
         Allure.parameter("OS", System.getProperty("os.name") + " (" + System.getProperty("os.version") + ')');
         Allure.parameter("JDK", System.getProperty("java.version") + " (" + System.getProperty("java.vendor") + ')');
         Allure.parameter("Profile", testProperties.mavenProfile());
         Allure.parameter("Headless", testProperties.headless());
         Allure.parameter("Browser profile used", testProperties.useBrowserProfile());
+        Allure.parameter("Resource policy", testProperties.resourcePolicy());
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private Optional<PageTrafficRecorder> trafficRecorder() {
+        return Optional.ofNullable(RESOURCE_BLOCKERS.get(driver)).flatMap(ResourceBlocker::getTrafficRecorder);
     }
 
     /**
-     * Возвращает значение заголовка {@code user-agent} для текущего окружения.
+     * Настраивает и создает веб-драйвер в зависимости от установленных тестовых пропертей.
+     * Используется как для основного сеанса теста, так и для дополнительных сеансов
+     * (например, загрузчиков страниц параллельной постраничной проверки).
      *
-     * @return значение {@code user-agent}.
+     * @param useBrowserProfile использовать ли профиль браузера. Один профиль не может быть открыт
+     *                          несколькими сеансами одновременно, поэтому для дополнительных сеансов следует передавать {@code false}.
+     * @return новый веб-драйвер.
      * @author Achitheus (Yury Yurchenko)
      */
-    private String getUserAgent() {
-        WebDriver chromedriver = new ChromeDriver(new ChromeOptions().addArguments("--headless=new"));
-        String currentUserAgent = (String) ((JavascriptExecutor) chromedriver).executeScript("return navigator.userAgent;");
-        chromedriver.quit();
-        return currentUserAgent;
+    protected static WebDriver createDriver(boolean useBrowserProfile) {
+        if (testProperties.mavenProfile().equalsIgnoreCase("dev")) {
+            System.setProperty("webdriver.chrome.driver", testProperties.chromeDriver());
+        }
+        ChromeOptions options = new ChromeOptions();
+        if (useBrowserProfile) {
+            options.addArguments("--user-data-dir=" + testProperties.userDataDir())
+                   .addArguments("--profile-directory=" + testProperties.profileDir());
+        }
+        Optional<String> userAgent = Optional.empty();
+        if (testProperties.headless()) {
+            options.addArguments("--headless=new");
+            userAgent = testProperties.userAgentViaCdp()
+                        ? cachedUserAgent()
+                        : Optional.of(resolveWithTemporaryBrowser());
+            userAgent.ifPresent(value -> options.addArguments("--user-agent=" + value));
+        }
+        ChromeDriver newDriver = new ChromeDriver(options);
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (testProperties.headless() && userAgent.isEmpty()) {
+            listeners.add(overrideViaCdp(newDriver));
+        }
+        if (testProperties.replayMode() == ReplayMode.RECORD) {
+            record(newDriver, RESPONSE_STORE);
+        }
+        newDriver.manage().window().maximize();
+        newDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(IMPLICITLY_WAIT));
+        if (testProperties.driverMetrics()) {
+            listeners.add(METRICS_LISTENER);
+        }
+        ResourceBlocker resourceBlocker = createResourceBlocker(newDriver);
+        if (resourceBlocker != null) {
+            listeners.add(resourceBlocker);
+        }
+        if (listeners.isEmpty()) {
+            return newDriver;
+        }
+        WebDriver decoratedDriver = new EventFiringDecorator<>(listeners.toArray(new WebDriverListener[0])).decorate(newDriver);
+        if (resourceBlocker != null) {
+            RESOURCE_BLOCKERS.put(decoratedDriver, resourceBlocker);
+        }
+        return decoratedDriver;
     }
 
     /**
-     * Закрывает веб-драйвер.
+     * Создает слушатель блокировки ресурсов согласно {@code resource.policy} и {@code resource.blocked.urls}.
+     * Учет трафика не ведется в режиме записи ответов, поскольку сеанс DevTools занят записью.
      *
+     * @param driver сеанс браузера без обертки.
+     * @return слушатель или {@code null}, если ни блокировка, ни учет трафика не нужны.
      * @author Achitheus (Yury Yurchenko)
      */
-    @AfterEach
-    public void afterEach() {
-        driver.quit();
+    private static ResourceBlocker createResourceBlocker(ChromeDriver driver) {
+        List<String> blockedUrls = new ArrayList<>(testProperties.resourcePolicy().getBlockedUrls());
+        testProperties.resourceBlockedUrls().stream()
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .forEach(blockedUrls::add);
+        boolean reportTraffic = testProperties.resourceTrafficReport() && testProperties.replayMode() != ReplayMode.RECORD;
+        if (blockedUrls.isEmpty() && !reportTraffic) {
+            return null;
+        }
+        return new ResourceBlocker(driver, blockedUrls, reportTraffic);
     }
 }
@@ -0,0 +1,504 @@
+package ru.bellintegrator;
+
+import helpers.ScreenshotService;
+import helpers.pageable.Pageable;
+import helpers.pageable.PageableChecker;
+import helpers.pageable.PredicateCheckThatEachElement;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.junitplatform.AllureJunitPlatform;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.opentest4j.MultipleFailuresError;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * Проверка параллельного выполнения тестов без браузера: вложенный запуск JUnit с конфигурацией
+ * {@link TestPropertiesParallelism} выполняет параметризованный тест {@link ConcurrentFixture} в нескольких потоках
+ * (так же, как выполняются параметризованные тесты Маркета при {@code test.concurrency} больше единицы),
+ * а результаты Allure записываются в память и сверяются. Каждый вызов теста выполняет {@link PageableChecker}
+ * (со степами, записываемыми фоновым потоком, и скриншотами проваленных страниц) по страницам в памяти
+ * и, как {@link BaseTest}, делает скриншот упавшего теста в {@code AfterTestExecutionCallback}.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class ParallelExecutionTest {
+    /**
+     * Количество одновременно выполняемых вызовов теста {@link ConcurrentFixture}.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final int CONCURRENCY = 4;
+    /**
+     * Количество степов (каждый с вложением), записываемых каждым вызовом теста {@link ConcurrentFixture}.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final int STEPS_PER_TEST = 50;
+    /**
+     * Параметр конфигурации, включающий тест {@link ConcurrentFixture} (только во вложенном запуске).
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final String FIXTURE_ENABLED = "ru.bellintegrator.parallel.fixture.enabled";
+    /**
+     * Количество страниц, проверяемых каждым вызовом теста {@link ConcurrentFixture}. Чеки проваливаются на четных страницах.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final int PAGE_COUNT = 6;
+    /**
+     * Сервис скриншотов вложенного запуска.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static final ScreenshotService SCREENSHOTS = new ScreenshotService(16 * 1024 * 1024, 64, 0.9f);
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Test
+    @DisplayName("Параллельные тесты выполняются одновременно, а их степы, деревья степов постраничной проверки и скриншоты не перемешиваются")
+    public void concurrentTestsKeepAllureResultsApart() throws IOException {
+        InMemoryResultsWriter results = new InMemoryResultsWriter();
+        ConcurrentFixture.lifecycle = new AllureLifecycle(results);
+        ConcurrentFixture.started = new CountDownLatch(CONCURRENCY);
+        Launcher launcher = LauncherFactory.create(LauncherConfig.builder()
+                .enableTestExecutionListenerAutoRegistration(false)
+                .build());
+        SummaryGeneratingListener summary = new SummaryGeneratingListener();
+        AllureLifecycle originalLifecycle = Allure.getLifecycle();
+        Allure.setLifecycle(ConcurrentFixture.lifecycle);
+        try {
+            launcher.execute(request()
+                            .selectors(selectClass(ConcurrentFixture.class))
+                            .configurationParameter(FIXTURE_ENABLED, "true")
+                            .configurationParameter("junit.jupiter.execution.parallel.enabled", "true")
+                            .configurationParameter("junit.jupiter.execution.parallel.mode.default", "concurrent")
+                            .configurationParameter("junit.jupiter.execution.parallel.config.strategy", "custom")
+                            .configurationParameter("junit.jupiter.execution.parallel.config.custom.class", FixtureParallelism.class.getName())
+                            .build(),
+                    summary, new AllureJunitPlatform(ConcurrentFixture.lifecycle));
+        } finally {
+            Allure.setLifecycle(originalLifecycle);
+        }
+
+        StringWriter failures = new StringWriter();
+        summary.getSummary().printFailuresTo(new PrintWriter(failures), 20);
+        assertEquals(CONCURRENCY, summary.getSummary().getTestsFailedCount(), "Fixture tests: " + failures);
+        summary.getSummary().getFailures().forEach(failure -> assertTrue(failure.getException() instanceof MultipleFailuresError,
+                "Fixture tests must fail only by pageable checks: " + failures));
+
+        Set<String> testIds = new HashSet<>();
+        for (TestResult testResult : results.testResults) {
+            List<StepResult> steps = testResult.getSteps();
+            assertEquals(STEPS_PER_TEST + 1, steps.size(), "Steps of " + testResult.getName());
+            String testId = steps.get(0).getName().split(" ")[0];
+            testIds.add(testId);
+            for (int i = 0; i < STEPS_PER_TEST; i++) {
+                StepResult step = steps.get(i);
+                assertEquals(testId + " step " + i, step.getName(), "Step of " + testResult.getName());
+                assertEquals(1, step.getAttachments().size(), "Attachments of " + step.getName());
+                Attachment attachment = step.getAttachments().get(0);
+                assertEquals(testId + " attachment " + i, attachment.getName());
+                assertEquals(testId + " content " + i, results.text(attachment));
+            }
+            assertPageableStepTree(testId, steps.get(STEPS_PER_TEST), results);
+            assertTestAttachments(testId, testResult, results);
+        }
+        assertEquals(IntStream.rangeClosed(1, CONCURRENCY).mapToObj(String::valueOf).collect(Collectors.toSet()), testIds);
+    }
+
+    /**
+     * Сверяет дерево степов постраничной проверки вызова теста: степы всех его страниц и чеков, а также page source
+     * и скриншоты проваленных страниц относятся к этому вызову.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static void assertPageableStepTree(String testId, StepResult pageableStep, InMemoryResultsWriter results) throws IOException {
+        assertEquals(Status.FAILED, pageableStep.getStatus(), "Status of " + pageableStep.getName() + " of test " + testId);
+        List<StepResult> pageSteps = pageableStep.getSteps();
+        assertEquals(PAGE_COUNT, pageSteps.size(), "Page steps of test " + testId);
+        for (int pageNumber = 1; pageNumber <= PAGE_COUNT; pageNumber++) {
+            StepResult pageStep = pageSteps.get(pageNumber - 1);
+            assertEquals("Страница " + pageNumber, pageStep.getName(), "Page step of test " + testId);
+            assertEquals(1, pageStep.getSteps().size(), "Check steps of " + pageStep.getName() + " of test " + testId);
+            StepResult checkStep = pageStep.getSteps().get(0);
+            assertTrue(checkStep.getName().startsWith("Стр. " + pageNumber + "."), checkStep.getName() + " of test " + testId);
+            if (!FixturePage.isFailing(pageNumber)) {
+                assertEquals(Status.PASSED, checkStep.getStatus(), checkStep.getName() + " of test " + testId);
+                assertTrue(pageStep.getAttachments().isEmpty(), "Attachments of passed " + pageStep.getName() + " of test " + testId);
+                continue;
+            }
+            assertEquals(Status.FAILED, checkStep.getStatus(), checkStep.getName() + " of test " + testId);
+            assertTrue(checkStep.getStatusDetails().getMessage().contains(FixturePage.failingName(testId, pageNumber)),
+                    checkStep.getStatusDetails().getMessage() + " of test " + testId);
+            assertEquals(List.of("Page source", "Screenshot"),
+                    pageStep.getAttachments().stream().map(Attachment::getName).collect(Collectors.toList()),
+                    "Attachments of failed " + pageStep.getName() + " of test " + testId);
+            assertEquals(FixturePage.pageSource(testId, pageNumber), results.gunzippedText(pageStep.getAttachments().get(0)));
+            assertScreenshotOf(testId, results.attachments.get(pageStep.getAttachments().get(1).getSource()));
+        }
+    }
+
+    /**
+     * Сверяет вложения самого теста: скриншот упавшего теста и полный список ошибок постраничной проверки
+     * относятся к этому вызову.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static void assertTestAttachments(String testId, TestResult testResult, InMemoryResultsWriter results) throws IOException {
+        Map<String, Attachment> attachments = testResult.getAttachments().stream()
+                .collect(Collectors.toMap(Attachment::getName, attachment -> attachment));
+        Attachment failureScreenshot = attachments.get("Screenshot on test fail");
+        assertNotNull(failureScreenshot, "Failure screenshot of test " + testId);
+        assertScreenshotOf(testId, results.attachments.get(failureScreenshot.getSource()));
+        Attachment checkErrors = attachments.get("Pageable check errors");
+        assertNotNull(checkErrors, "Pageable check errors of test " + testId);
+        List<String> errorLines = results.text(checkErrors).lines().collect(Collectors.toList());
+        assertEquals(PAGE_COUNT / 2, errorLines.size(), "Pageable check errors of test " + testId);
+        errorLines.forEach(line -> assertTrue(line.contains(FixturePage.namePrefix(testId)), line + " of test " + testId));
+    }
+
+    /**
+     * Проверяет, что скриншот окрашен в цвет, которым заглушка веб-драйвера вызова теста {@code testId} отвечает на запрос скриншота.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static void assertScreenshotOf(String testId, byte[] jpeg) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(jpeg));
+        Color expected = FixturePage.screenshotColor(Integer.parseInt(testId));
+        Color actual = new Color(image.getRGB(image.getWidth() / 2, image.getHeight() / 2));
+        assertTrue(Math.abs(expected.getRed() - actual.getRed()) < 16 && Math.abs(expected.getGreen() - actual.getGreen()) < 16,
+                "Screenshot of test " + testId + " has color " + actual);
+    }
+
+    /**
+     * Тест, выполняемый только во вложенном запуске {@link #concurrentTestsKeepAllureResultsApart()}. Каждый вызов
+     * дожидается, пока стартуют все остальные (иначе тесты выполняются не одновременно и вызов падает), после чего
+     * записывает степы с вложениями, помеченные своим параметром, и выполняет постраничную проверку своих страниц
+     * вперемешку с другими вызовами. Проверка проваливается, а скриншот упавшего теста делается так же, как в {@link BaseTest}.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @EnabledIf("fixtureEnabled")
+    static class ConcurrentFixture {
+        private static AllureLifecycle lifecycle;
+        private static CountDownLatch started;
+        private WebDriver driver;
+        private CompletableFuture<Optional<byte[]>> failureScreenshot;
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        @RegisterExtension
+        AfterTestExecutionCallback afterTestExecutionCallback = new AfterTestExecutionCallback() {
+            @Override
+            public void afterTestExecution(ExtensionContext context) {
+                if (context.getExecutionException().isPresent()) {
+                    failureScreenshot = SCREENSHOTS.encodeAsync(SCREENSHOTS.capture(driver));
+                }
+            }
+        };
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        static boolean fixtureEnabled(ExtensionContext context) {
+            return context.getConfigurationParameter(FIXTURE_ENABLED).isPresent();
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        @ParameterizedTest
+        @ValueSource(ints = {1, 2, 3, 4})
+        void recordStepsAndRunPageableCheck(int testId) throws InterruptedException {
+            started.countDown();
+            assertTrue(started.await(10, TimeUnit.SECONDS), "Tests are not run concurrently");
+            for (int i = 0; i < STEPS_PER_TEST; i++) {
+                String stepUuid = UUID.randomUUID().toString();
+                lifecycle.startStep(stepUuid, new StepResult().setName(testId + " step " + i));
+                Thread.yield();
+                lifecycle.addAttachment(testId + " attachment " + i, "text/plain", "txt",
+                        (testId + " content " + i).getBytes(StandardCharsets.UTF_8));
+                lifecycle.stopStep(stepUuid);
+            }
+            FixturePage page = new FixturePage(testId);
+            driver = page.driver();
+            new PageableChecker<>(page, driver)
+                    .screenshotOnFailure(SCREENSHOTS, "main")
+                    .addCheck(new PredicateCheckThatEachElement<FixturePage, String>("не помечен как проваленный",
+                            FixturePage::getNames, name -> !name.endsWith("-failed")))
+                    .beLazy(false)
+                    .run();
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        @AfterEach
+        void attachFailureScreenshot() {
+            if (failureScreenshot != null) {
+                failureScreenshot.join().ifPresent(jpeg ->
+                        Allure.addAttachment("Screenshot on test fail", "image/jpeg", new ByteArrayInputStream(jpeg), ".jpg"));
+            }
+        }
+    }
+
+    /**
+     * Страницы в памяти вызова теста {@link ConcurrentFixture}: наименования товаров, page source и скриншоты
+     * (заглушкой веб-драйвера) помечены номером вызова.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    static class FixturePage implements Pageable {
+        private final int testId;
+        private int pageNumber = 1;
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        FixturePage(int testId) {
+            this.testId = testId;
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        @Override
+        public boolean nextPage() {
+            if (pageNumber >= PAGE_COUNT) {
+                return false;
+            }
+            pageNumber++;
+            Thread.yield();
+            return true;
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        List<String> getNames() {
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                names.add(namePrefix(String.valueOf(testId)) + pageNumber + "-" + i);
+            }
+            if (isFailing(pageNumber)) {
+                names.add(failingName(String.valueOf(testId), pageNumber));
+            }
+            return names;
+        }
+
+        /**
+         * Создает заглушку веб-драйвера, отдающую page source текущей страницы и скриншот цвета вызова теста.
+         *
+         * @author Achitheus (Yury Yurchenko)
+         */
+        WebDriver driver() {
+            byte[] screenshot = png(screenshotColor(testId));
+            return (WebDriver) java.lang.reflect.Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                    new Class<?>[]{WebDriver.class, JavascriptExecutor.class, TakesScreenshot.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getPageSource":
+                                return pageSource(String.valueOf(testId), pageNumber);
+                            case "getScreenshotAs":
+                                return screenshot;
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "equals":
+                                return proxy == args[0];
+                            case "toString":
+                                return "Fixture driver of test " + testId;
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        static boolean isFailing(int pageNumber) {
+            return pageNumber % 2 == 0;
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        static String namePrefix(String testId) {
+            return "t" + testId + "-p";
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        static String failingName(String testId, int pageNumber) {
+            return namePrefix(testId) + pageNumber + "-failed";
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        static String pageSource(String testId, int pageNumber) {
+            return "<html><main>test " + testId + " page " + pageNumber + "</main></html>";
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        static Color screenshotColor(int testId) {
+            return new Color(testId * 60, 255 - testId * 60, 0);
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        private static byte[] png(Color color) {
+            BufferedImage image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            try {
+                graphics.setColor(color);
+                graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            } finally {
+                graphics.dispose();
+            }
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            try {
+                ImageIO.write(image, "png", png);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return png.toByteArray();
+        }
+    }
+
+    /**
+     * Стратегия параллельного выполнения вложенного запуска: конфигурация {@link TestPropertiesParallelism}
+     * с количеством одновременно выполняемых тестов {@link #CONCURRENCY}.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static class FixtureParallelism implements ParallelExecutionConfigurationStrategy {
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        @Override
+        public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+            return TestPropertiesParallelism.configuration(CONCURRENCY);
+        }
+    }
+
+    /**
+     * Записывает результаты Allure в память.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static class InMemoryResultsWriter implements AllureResultsWriter {
+        private final Queue<TestResult> testResults = new ConcurrentLinkedQueue<>();
+        private final Map<String, byte[]> attachments = new ConcurrentHashMap<>();
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        @Override
+        public void write(TestResult testResult) {
+            testResults.add(testResult);
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        @Override
+        public void write(String source, InputStream attachment) {
+            try (attachment) {
+                attachments.put(source, attachment.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        String text(Attachment attachment) {
+            return new String(attachments.get(attachment.getSource()), StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @author Achitheus (Yury Yurchenko)
+         */
+        String gunzippedText(Attachment attachment) throws IOException {
+            try (InputStream content = new GZIPInputStream(new ByteArrayInputStream(attachments.get(attachment.getSource())))) {
+                return new String(content.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+}
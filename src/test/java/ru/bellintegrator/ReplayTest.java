@@ -0,0 +1,147 @@
+package ru.bellintegrator;
+
+import helpers.replay.ReplayServer;
+import helpers.replay.ResponseRecorder;
+import helpers.replay.ResponseStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка записи ответов ({@link ResponseRecorder}) и их воспроизведения ({@link ReplayServer}) без браузера:
+ * ответы записываются фильтром записи поверх заглушки сайта, а затем запрашиваются у сервера воспроизведения.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class ReplayTest {
+    private static final String CATALOG_URL = "https://market.yandex.ru/catalog--noutbuki/54544/list?hid=91013";
+    private static final String SEARCH_URL = "https://market.yandex.ru/api/resolve/?r=search";
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Test
+    @DisplayName("Записанные ответы воспроизводятся локальным сервером с переписанными ссылками")
+    public void recordedResponsesAreReplayedWithRewrittenLinks() throws IOException, InterruptedException {
+        ResponseStore recordingStore = new ResponseStore(tempDir);
+        HttpHandler recorder = ResponseRecorder.recordingFilter(recordingStore).andFinally(ReplayTest::site);
+        recorder.execute(new HttpRequest(HttpMethod.GET, CATALOG_URL));
+        recorder.execute(post(SEARCH_URL, "{\"page\":1}"));
+        recorder.execute(post(SEARCH_URL, "{\"page\":2}"));
+        recorder.execute(new HttpRequest(HttpMethod.GET, "https://market.yandex.ru/logo.png"));
+
+        assertFalse(Files.exists(tempDir.resolve("index.json")), "Index must be written on close only");
+        assertEquals(3, Files.readAllLines(tempDir.resolve("index.jsonl")).size());
+        assertEquals(3, new ResponseStore(tempDir).keys().size(), "Unclosed store must be restored from the journal");
+        recordingStore.close();
+        assertTrue(Files.exists(tempDir.resolve("index.json")));
+        assertFalse(Files.exists(tempDir.resolve("index.jsonl")));
+
+        HttpClient client = HttpClient.newHttpClient();
+        try (ReplayServer server = new ReplayServer(new ResponseStore(tempDir))) {
+            java.net.http.HttpResponse<String> catalog = client.send(java.net.http.HttpRequest.newBuilder(URI.create(server.urlFor(CATALOG_URL))).build(),
+                    java.net.http.HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, catalog.statusCode());
+            assertEquals("text/html; charset=utf-8", catalog.headers().firstValue("Content-Type").orElse(null));
+            assertEquals(catalogPage(server.baseUrl() + "/market.yandex.ru", server.baseUrl() + "/market.yandex.ru"), catalog.body());
+
+            String referer = server.urlFor(CATALOG_URL);
+            assertEquals("{\"page\":1,\"next\":\"" + server.baseUrl() + "/market.yandex.ru/product/2\"}",
+                    replayPost(client, server.baseUrl() + "/api/resolve/?r=search", referer, "{\"page\":1}").body());
+            assertEquals("{\"page\":2,\"next\":\"" + server.baseUrl() + "/market.yandex.ru/product/3\"}",
+                    replayPost(client, server.baseUrl() + "/api/resolve/?r=search", referer, "{\"page\":2}").body());
+            assertEquals(404, replayPost(client, server.baseUrl() + "/api/resolve/?r=search", referer, "{\"page\":3}").statusCode());
+            assertEquals(404, client.send(java.net.http.HttpRequest.newBuilder(URI.create(server.urlFor("https://market.yandex.ru/logo.png"))).build(),
+                    java.net.http.HttpResponse.BodyHandlers.ofString()).statusCode());
+        }
+    }
+
+    /**
+     * Ключ ответа на запрос с телом учитывает тело запроса, а на {@code GET} запрос - нет.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Test
+    @DisplayName("Ключ ответа учитывает тело запроса, кроме GET запросов")
+    public void keyIncludesRequestBodyHash() {
+        byte[] body = "{\"page\":1}".getBytes();
+        assertEquals("GET " + CATALOG_URL, ResponseStore.key("get", CATALOG_URL, body));
+        assertEquals("POST " + SEARCH_URL, ResponseStore.key("POST", SEARCH_URL, new byte[0]));
+        assertTrue(ResponseStore.key("POST", SEARCH_URL, body).startsWith("POST " + SEARCH_URL + " #"));
+        assertFalse(ResponseStore.key("POST", SEARCH_URL, body).equals(ResponseStore.key("POST", SEARCH_URL, "{\"page\":2}".getBytes())));
+    }
+
+    /**
+     * Заглушка сайта: страница каталога со ссылками на другие страницы и хосты, JSON ответ на запрос данных выдачи,
+     * зависящий от тела запроса, и картинка.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static HttpResponse site(HttpRequest request) {
+        HttpResponse response = new HttpResponse();
+        if (request.getUri().equals(CATALOG_URL)) {
+            return response.setHeader("Content-Type", "text/html; charset=utf-8")
+                    .setContent(Contents.utf8String(catalogPage("https://market.yandex.ru", "//market.yandex.ru")));
+        }
+        if (request.getUri().equals(SEARCH_URL)) {
+            int page = Integer.parseInt(Contents.string(request).replaceAll("\\D", ""));
+            return response.setHeader("Content-Type", "application/json")
+                    .setContent(Contents.utf8String("{\"page\":" + page + ",\"next\":\"https://market.yandex.ru/product/" + (page + 1) + "\"}"));
+        }
+        return response.setHeader("Content-Type", "image/png").setContent(Contents.bytes(new byte[]{1, 2, 3}));
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static String catalogPage(String absoluteMarketUrl, String protocolRelativeMarketUrl) {
+        return "<html><body><main>\n"
+               + "        <div data-autotest-id=\"product-snippet\"><a href=\"" + absoluteMarketUrl + "/product/1\">"
+               + "<h3 data-auto=\"snippet-title-header\">Ноутбук 1</h3></a></div>\n"
+               + "        <div data-baobab-name=\"next\"><a href=\"" + protocolRelativeMarketUrl
+               + "/catalog--noutbuki/54544/list?hid=91013&page=2\"><span>Вперёд</span></a></div>\n"
+               + "        <a href=\"https://market.yandex.ru.example.com/\">Чужой хост</a>\n"
+               + "</main></body></html>";
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static HttpRequest post(String url, String body) {
+        HttpRequest request = new HttpRequest(HttpMethod.POST, url);
+        request.setContent(Contents.utf8String(body));
+        return request;
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static java.net.http.HttpResponse<String> replayPost(HttpClient client, String url, String referer, String body)
+            throws IOException, InterruptedException {
+        return client.send(java.net.http.HttpRequest.newBuilder(URI.create(url))
+                        .header("Referer", referer)
+                        .POST(java.net.http.HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                java.net.http.HttpResponse.BodyHandlers.ofString());
+    }
+}
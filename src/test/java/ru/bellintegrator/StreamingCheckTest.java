@@ -0,0 +1,104 @@
+package ru.bellintegrator;
+
+import helpers.pageable.ElementsCheck;
+import helpers.pageable.ElementsCheckResult;
+import helpers.pageable.StreamingCheckThatEachElement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static helpers.pageable.ElementsChecks.containsAnyIgnoringCaseStreaming;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка потокового чека {@link StreamingCheckThatEachElement} без браузера: выборка проваливших проверку
+ * элементов, счетчики и файл с полным списком проваливших проверку элементов.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class StreamingCheckTest {
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Test
+    @DisplayName("Потоковый чек сохраняет выборку проваливших проверку элементов страницы, а полный список записывает в файл")
+    public void keepsSamplesAndSpillsAllFailedElements() throws IOException {
+        Path spillFile = tempDir.resolve("failed-names.tsv");
+        StreamingCheckThatEachElement<List<String>, String> check = manufacturerCheck()
+                .setSampleSize(2)
+                .spillTo(spillFile);
+
+        ElementsCheckResult firstPage = check.perform(List.of("Lenovo IdeaPad", "Apple MacBook 1", "huawei MateBook",
+                "Apple MacBook 2", "ASUS VivoBook", "Apple MacBook 3"));
+        ElementsCheckResult secondPage = check.perform(List.of("Lenovo Yoga", "HUAWEI MateBook D"));
+        ElementsCheckResult thirdPage = check.perform(List.of("Dell XPS"));
+
+        List<String> expectedLines = List.of("1\tApple MacBook 1", "1\tApple MacBook 2", "1\tASUS VivoBook",
+                "1\tApple MacBook 3", "3\tDell XPS");
+        assertEquals(expectedLines, Files.readAllLines(spillFile), "Spill file must be flushed after each page");
+        check.close();
+        assertEquals(expectedLines, Files.readAllLines(spillFile));
+
+        assertTrue(firstPage.isFailed());
+        String message = firstPage.getMessage();
+        assertTrue(message.startsWith("Стр. 1. Обнаружено 4 (из 6 шт.)"), message);
+        assertTrue(message.contains("Apple MacBook 1") && message.contains("Apple MacBook 2"), message);
+        assertFalse(message.contains("ASUS VivoBook") || message.contains("Apple MacBook 3"), message);
+        assertTrue(message.endsWith("... и еще 2 шт. Полный список: " + spillFile), message);
+        assertFalse(secondPage.isFailed());
+        assertTrue(thirdPage.isFailed());
+        assertEquals(9, check.getTotalCheckedElementCount());
+        assertEquals(5, check.getTotalFailedElementCount());
+        assertEquals(2, check.getCollectedErrorCount());
+        assertEquals(List.of(firstPage.getMessage(), thirdPage.getMessage()), check.getCollectedErrors().stream()
+                .map(Throwable::getMessage)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Test
+    @DisplayName("Потоковый чек хранит ограниченное количество ошибок и дописывает файл после закрытия")
+    public void keepsBoundedErrorsAndAppendsAfterClose() throws IOException {
+        Path spillFile = tempDir.resolve("failed-names.tsv");
+        StreamingCheckThatEachElement<List<String>, String> check = manufacturerCheck().spillTo(spillFile);
+        int failedPageCount = ElementsCheck.MAX_COLLECTED_ERRORS + 5;
+        for (int i = 1; i <= failedPageCount; i++) {
+            check.perform(List.of("Lenovo " + i, "Apple " + i));
+            if (i % 10 == 0) {
+                check.close();
+            }
+        }
+        check.close();
+
+        assertEquals(failedPageCount, check.getCollectedErrorCount());
+        assertEquals(ElementsCheck.MAX_COLLECTED_ERRORS, check.getCollectedErrors().size());
+        List<String> lines = Files.readAllLines(spillFile);
+        assertEquals(failedPageCount, lines.size());
+        for (int i = 1; i <= failedPageCount; i++) {
+            assertEquals(i + "\tApple " + i, lines.get(i - 1));
+        }
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static StreamingCheckThatEachElement<List<String>, String> manufacturerCheck() {
+        return containsAnyIgnoringCaseStreaming("содержит Lenovo или HUAWEI", List::stream, List.of("Lenovo", "HUAWEI"));
+    }
+}
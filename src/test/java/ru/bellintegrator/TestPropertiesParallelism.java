@@ -0,0 +1,80 @@
+package ru.bellintegrator;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import static helpers.properties.Properties.testProperties;
+
+/**
+ * Стратегия параллельного выполнения тестов JUnit, берущая количество одновременно выполняемых тестов
+ * (и, соответственно, одновременно открытых браузеров) из {@code test.concurrency}.
+ * Подключается в {@code junit-platform.properties}.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class TestPropertiesParallelism implements ParallelExecutionConfigurationStrategy {
+
+    /**
+     * Возвращает количество одновременно выполняемых тестов. По умолчанию тесты выполняются по одному,
+     * значение {@code 0} означает количество процессоров. Профиль браузера не может быть открыт несколькими сеансами одновременно, поэтому
+     * при его использовании тесты выполняются по одному.
+     *
+     * @return количество одновременно выполняемых тестов.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    public static int concurrency() {
+        if (testProperties.useBrowserProfile()) {
+            return 1;
+        }
+        int concurrency = testProperties.testConcurrency();
+        return concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        return configuration(concurrency());
+    }
+
+    /**
+     * Создает конфигурацию пула потоков JUnit, при которой одновременно выполняется {@code concurrency} вызовов
+     * параметризованного теста. Поток, запустивший вызовы параметризованного теста, занят ожиданием их завершения
+     * и сам их не выполняет, поэтому при {@code concurrency} больше единицы пул содержит на один поток больше.
+     *
+     * @param concurrency количество одновременно выполняемых тестов.
+     * @return конфигурация пула потоков JUnit.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    static ParallelExecutionConfiguration configuration(int concurrency) {
+        int parallelism = concurrency > 1 ? concurrency + 1 : concurrency;
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMaxPoolSize() {
+                return parallelism + 256;
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return parallelism;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return 30;
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package ru.bellintegrator;
+
+import helpers.driver.WebDriverPool;
+import helpers.locators.Locators;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+
+import static helpers.properties.Properties.testProperties;
+
+/**
+ * Расширение JUnit, внедряющее в параметры типа {@link WebDriver} сеанс из общего для всего прогона
+ * {@link WebDriverPool}. После теста сеанс сбрасывается и возвращается в пул, а пул закрывается
+ * по завершению прогона.
+ *
+ * @author Achitheus (Yury Yurchenko)
+ */
+public class WebDriverPoolExtension implements ParameterResolver, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(WebDriverPoolExtension.class);
+
+    /**
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == WebDriver.class;
+    }
+
+    /**
+     * Выдает сеанс из пула. В рамках одного теста повторные запросы возвращают тот же сеанс.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        WebDriverPool pool = getPool(extensionContext);
+        return extensionContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(WebDriver.class, key -> pool.acquire(), WebDriver.class);
+    }
+
+    /**
+     * Возвращает сеанс теста в пул.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    @Override
+    public void afterEach(ExtensionContext context) {
+        WebDriver driver = context.getStore(NAMESPACE).remove(WebDriver.class, WebDriver.class);
+        if (driver != null) {
+            getPool(context).release(driver);
+        }
+    }
+
+    /**
+     * Возвращает пул сеансов прогона, создавая его при первом обращении.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static WebDriverPool getPool(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(ClosablePool.class, key -> new ClosablePool(), ClosablePool.class)
+                .pool;
+    }
+
+    /**
+     * Обертка, позволяющая JUnit закрыть пул по завершению прогона. Емкость пула не меньше количества
+     * одновременно выполняемых тестов, чтобы при параллельном прогоне сеансы не закрывались между тестами.
+     *
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static class ClosablePool implements ExtensionContext.Store.CloseableResource {
+        private final WebDriverPool pool = new WebDriverPool(
+                () -> BaseTest.createDriver(testProperties.useBrowserProfile()),
+                Math.max(testProperties.driverPoolSize(), TestPropertiesParallelism.concurrency()),
+                Duration.ofSeconds(BaseTest.IMPLICITLY_WAIT),
+                !testProperties.useBrowserProfile());
+
+        /**
+         * Закрывает пул и логгирует статистику поиска элементов за прогон.
+         *
+         * @author Achitheus (Yury Yurchenko)
+         */
+        @Override
+        public void close() {
+            pool.close();
+            BaseTest.log.info("Locator lookups:\n{}", Locators.getStatistics());
+        }
+    }
+}
@@ -1,24 +1,32 @@
 package ru.bellintegrator.ru.yandex.market;
 
 import helpers.NamedRange;
-import helpers.pageable.AssertionCheckThatEachElement;
+import helpers.pageable.Pageable;
 import helpers.pageable.PageableChecker;
+import helpers.pageable.StreamingCheckThatEachElement;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Link;
-import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import pages.ru.ya.YaMain;
 import pages.ru.yandex.market.CategoryGoods;
+import pages.ru.yandex.market.CategoryGoodsHtml;
+import pages.ru.yandex.market.FilterUrlCache;
+import pages.ru.yandex.market.ProductListing;
 import ru.bellintegrator.BaseTest;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
 import static helpers.Assertions.assertTrue;
+import static helpers.pageable.ElementsChecks.containsAnyIgnoringCaseStreaming;
+import static helpers.pageable.ElementsChecks.withinRange;
 import static helpers.properties.Properties.testProperties;
-import static helpers.StringsUtils.stringContainsAnyStringCaseInsensitively;
 import static io.qameta.allure.Allure.step;
 
 public class MarketTest extends BaseTest {
@@ -45,24 +53,31 @@ public class MarketTest extends BaseTest {
         yaMain.goToService(testProperties.yandexServiceTitle());
         CategoryGoods categoryGoods = new CategoryGoods(driver, IMPLICITLY_WAIT);
         categoryGoods.toCategoryProductsPage(section, category);
-        categoryGoods.setEnumFilters(enumFilters);
-        categoryGoods.setRangeFilter(priceRange);
+        FilterUrlCache.persistTo(Path.of(testProperties.filterCacheFile()));
+        categoryGoods.setLoadDetection(testProperties.goodsLoadDetection());
+        categoryGoods.setFilterMode(testProperties.filterMode());
+        categoryGoods.applyFilters(enumFilters, List.of(priceRange));
 
         int actualProductCount = categoryGoods.getClickableProductNames().size();
         assertTrue(actualProductCount > productCount, "Число товаров " + actualProductCount
                 + " не соответствует условию: " + "число товаров > " + productCount);
 
-        PageableChecker<CategoryGoods> pageableChecker = categoryGoods.schedulePageableCheck()
-                .addCheck(new AssertionCheckThatEachElement<>("соответствует фильтру Производитель: " + enumFilters.get("Производитель"),
-                        CategoryGoods::getProductNames,
-                        (name, message) -> Assertions.assertTrue(stringContainsAnyStringCaseInsensitively(name, enumFilters.get("Производитель")), message)
-                ))
-                .addCheck(new AssertionCheckThatEachElement<>("соответствует фильтру " + priceRange,
-                        CategoryGoods::getProductPrices,
-                        (price, message) -> Assertions.assertTrue(priceRange.includes(price), message)
-                ))
-                .beLazy(true)
-                .runWithoutThrowing();
+        PageableChecker<?> pageableChecker;
+        if (testProperties.pageableBrowserless()) {
+            CategoryGoodsHtml htmlPages = categoryGoods.toHtmlPages();
+            pageableChecker = addFilterChecks(htmlPages.schedulePageableCheck(), priceRange, enumFilters)
+                    .beLazy(true)
+                    .inParallel(testProperties.pageableSessions(), htmlPages.pageLoaders())
+                    .prefetch(testProperties.pageablePrefetchDepth())
+                    .runWithoutThrowing();
+        } else {
+            pageableChecker = addFilterChecks(categoryGoods.schedulePageableCheck(), priceRange, enumFilters)
+                    .beLazy(true)
+                    .screenshotOnFailure(SCREENSHOTS, "main#searchResults")
+                    .inParallel(testProperties.pageableSessions(), categoryGoods.pageLoaders(() -> createDriver(false)))
+                    .prefetch(testProperties.pageablePrefetchDepth())
+                    .runWithoutThrowing();
+        }
 
         categoryGoods.toPage(1);
         String firstProductName = categoryGoods.getProductNames().get(0);
@@ -72,4 +87,50 @@ public class MarketTest extends BaseTest {
 
         pageableChecker.assertAll();
     }
+
+    /**
+     * Добавляет к постраничной проверке чеки соответствия товаров фильтрам производителя и цены. Наименования
+     * проверяются потоковым чеком: в отчет попадает выборка проваливших проверку товаров каждой страницы, а полный
+     * список (если задана {@code pageable.spill.dir}) записывается в файл.
+     *
+     * @param pageableChecker постраничная проверка страниц браузера или страниц, загруженных без браузера.
+     * @param priceRange      диапазон цен товаров.
+     * @param enumFilters     фильтры перечислений, где ключ - название фильтра,
+     *                        значение - список названий чекбоксов
+     * @return переданная постраничная проверка.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static <P extends Pageable & ProductListing> PageableChecker<P> addFilterChecks(PageableChecker<P> pageableChecker,
+                                                                                            NamedRange priceRange,
+                                                                                            Map<String, List<String>> enumFilters) {
+        StreamingCheckThatEachElement<P, String> manufacturerCheck = containsAnyIgnoringCaseStreaming(
+                "соответствует фильтру Производитель: " + enumFilters.get("Производитель"),
+                listing -> listing.getProductNames().stream(),
+                enumFilters.get("Производитель")
+        );
+        if (!testProperties.pageableSpillDir().isBlank()) {
+            manufacturerCheck.spillTo(spillFile(Path.of(testProperties.pageableSpillDir())));
+        }
+        return pageableChecker
+                .addCheck(manufacturerCheck)
+                .addCheck(withinRange("соответствует фильтру " + priceRange,
+                        ProductListing::getProductPriceArray,
+                        priceRange
+                ));
+    }
+
+    /**
+     * Создает в директории {@code pageable.spill.dir} новый файл для полного списка товаров, проваливших проверку производителя.
+     *
+     * @param spillDir директория файлов.
+     * @return созданный файл.
+     * @author Achitheus (Yury Yurchenko)
+     */
+    private static Path spillFile(Path spillDir) {
+        try {
+            return Files.createTempFile(Files.createDirectories(spillDir), "manufacturer-", ".tsv");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }